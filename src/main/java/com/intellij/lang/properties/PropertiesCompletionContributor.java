@@ -22,7 +22,11 @@ import com.intellij.lang.properties.references.PropertyReferenceBase;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ExtensionImpl;
 import consulo.application.AllIcons;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
 import consulo.colorScheme.EditorColorsManager;
+import consulo.colorScheme.EditorColorsScheme;
 import consulo.colorScheme.TextAttributes;
 import consulo.document.util.TextRange;
 import consulo.language.Language;
@@ -37,12 +41,13 @@ import consulo.language.psi.PsiLanguageInjectionHost;
 import consulo.language.psi.PsiReference;
 import consulo.language.util.ProcessingContext;
 import consulo.platform.base.icon.PlatformIconGroup;
+import consulo.project.Project;
 import consulo.util.collection.ArrayUtil;
 import consulo.util.collection.ContainerUtil;
+import consulo.util.dataholder.Key;
 import consulo.util.lang.StringUtil;
 import org.jspecify.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.Set;
 
@@ -85,8 +90,15 @@ public class PropertiesCompletionContributor extends CompletionContributor {
             if (offsetInElement >= range.getStartOffset()) {
                 final String prefix = element.getText().substring(range.getStartOffset(), offsetInElement);
 
-                LookupElement[] variants = getVariants(propertyReference);
-                result.withPrefixMatcher(prefix).addAllElements(Arrays.asList(variants));
+                final CompletionResultSet resultSet = result.withPrefixMatcher(prefix);
+                final PrefixMatcher matcher = resultSet.getPrefixMatcher();
+                PropertiesPsiCompletionUtil.processPropertiesKeys(propertyReference, matcher::prefixMatches, variant -> {
+                    LookupElement lookupElement = createLookupElement(variant);
+                    if (lookupElement != null) {
+                        resultSet.addElement(lookupElement);
+                    }
+                    return !resultSet.isStopped();
+                });
             }
         }
     }
@@ -96,7 +108,13 @@ public class PropertiesCompletionContributor extends CompletionContributor {
         return propertyReference.isSoft() && ContainerUtil.or(references, reference -> !reference.isSoft());
     }
 
+    private static final Key<PropertyPresentation> PRESENTATION_KEY = Key.create("property.lookup.presentation");
+    private static final Key<CachedValue<PropertiesFile>> DEFAULT_PROPERTIES_FILE_KEY = Key.create("property.lookup.default.file");
+
     public static final LookupElementRenderer<LookupElement> LOOKUP_ELEMENT_RENDERER = new LookupElementRenderer<>() {
+        private volatile EditorColorsScheme myScheme;
+        private volatile TextAttributes myValueAttributes;
+
         @Override
         public void renderElement(LookupElement element, LookupElementPresentation presentation) {
             IProperty property = (IProperty) element.getObject();
@@ -104,42 +122,92 @@ public class PropertiesCompletionContributor extends CompletionContributor {
             String key = StringUtil.notNullize(property.getUnescapedKey());
             presentation.setItemText(key);
 
-            PropertiesFile propertiesFile = property.getPropertiesFile();
-            ResourceBundle resourceBundle = propertiesFile.getResourceBundle();
-            String value = property.getValue();
-            boolean hasBundle = resourceBundle != EmptyResourceBundle.getInstance();
-            if (hasBundle) {
-                PropertiesFile defaultPropertiesFile = resourceBundle.getDefaultPropertiesFile(propertiesFile.getProject());
-                if (defaultPropertiesFile.getContainingFile() != propertiesFile.getContainingFile()) {
-                    IProperty defaultProperty = defaultPropertiesFile.findPropertyByKey(key);
-                    if (defaultProperty != null) {
-                        value = defaultProperty.getValue();
-                    }
-                }
+            // rendering is repeated on every lookup repaint, so bundle data is computed only once per element
+            PropertyPresentation data = element.getUserData(PRESENTATION_KEY);
+            if (data == null) {
+                data = computePresentation(property, key);
+                element.putUserData(PRESENTATION_KEY, data);
             }
 
-            if (hasBundle) {
-                presentation.setTypeText(resourceBundle.getBaseName(), AllIcons.FileTypes.Properties);
+            if (data.myBundleName != null) {
+                presentation.setTypeText(data.myBundleName, AllIcons.FileTypes.Properties);
             }
 
-            TextAttributes attrs = EditorColorsManager.getInstance().getGlobalScheme()
-                .getAttributes(PropertiesHighlighter.PROPERTY_VALUE);
-            presentation.setTailText("=" + value, attrs.getForegroundColor());
+            presentation.setTailText("=" + data.myValue, getValueAttributes().getForegroundColor());
+        }
+
+        private TextAttributes getValueAttributes() {
+            EditorColorsScheme scheme = EditorColorsManager.getInstance().getGlobalScheme();
+            TextAttributes attributes = myValueAttributes;
+            if (scheme != myScheme || attributes == null) {
+                attributes = scheme.getAttributes(PropertiesHighlighter.PROPERTY_VALUE);
+                myValueAttributes = attributes;
+                myScheme = scheme;
+            }
+            return attributes;
         }
     };
 
+    private static PropertyPresentation computePresentation(IProperty property, String key) {
+        PropertiesFile propertiesFile = property.getPropertiesFile();
+        ResourceBundle resourceBundle = propertiesFile.getResourceBundle();
+        String value = property.getValue();
+        if (resourceBundle == EmptyResourceBundle.getInstance()) {
+            return new PropertyPresentation(null, value);
+        }
+
+        PropertiesFile defaultPropertiesFile = getDefaultPropertiesFile(propertiesFile, resourceBundle);
+        if (defaultPropertiesFile.getContainingFile() != propertiesFile.getContainingFile()) {
+            IProperty defaultProperty = defaultPropertiesFile.findPropertyByKey(key);
+            if (defaultProperty != null) {
+                value = defaultProperty.getValue();
+            }
+        }
+        return new PropertyPresentation(resourceBundle.getBaseName(), value);
+    }
+
+    private static PropertiesFile getDefaultPropertiesFile(PropertiesFile propertiesFile, ResourceBundle resourceBundle) {
+        Project project = propertiesFile.getProject();
+        return CachedValuesManager.getManager(project).getCachedValue(
+            propertiesFile.getContainingFile(),
+            DEFAULT_PROPERTIES_FILE_KEY,
+            () -> CachedValueProvider.Result.create(
+                resourceBundle.getDefaultPropertiesFile(project),
+                PropertiesReferenceManager.getInstance(project).getPropertiesFilesModificationTracker()
+            ),
+            false
+        );
+    }
+
+    private static final class PropertyPresentation {
+        @Nullable
+        private final String myBundleName;
+        @Nullable
+        private final String myValue;
+
+        private PropertyPresentation(@Nullable String bundleName, @Nullable String value) {
+            myBundleName = bundleName;
+            myValue = value;
+        }
+    }
+
     public static LookupElement[] getVariants(final PropertyReferenceBase propertyReference) {
         final Set<Object> variants = PropertiesPsiCompletionUtil.getPropertiesKeys(propertyReference);
         return getVariants(variants);
     }
 
     public static LookupElement[] getVariants(Set<Object> variants) {
-        return variants.stream().map(o -> o instanceof String
-                ? LookupElementBuilder.create((String) o).withIcon(PlatformIconGroup.nodesProperty())
-                : createVariant((IProperty) o))
+        return variants.stream().map(PropertiesCompletionContributor::createLookupElement)
             .filter(Objects::nonNull).toArray(LookupElement[]::new);
     }
 
+    @Nullable
+    private static LookupElement createLookupElement(Object variant) {
+        return variant instanceof String
+            ? LookupElementBuilder.create((String) variant).withIcon(PlatformIconGroup.nodesProperty())
+            : createVariant((IProperty) variant);
+    }
+
     @Nullable
     public static LookupElement createVariant(IProperty property) {
         String key = property.getKey();
@@ -2,25 +2,34 @@ package com.intellij.lang.properties;
 
 import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.TopicImpl;
-import consulo.application.ApplicationManager;
+import consulo.application.Application;
+import consulo.application.progress.ProgressIndicator;
+import consulo.application.progress.Task;
+import consulo.document.Document;
 import consulo.document.FileDocumentManager;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.search.FileTypeIndex;
 import consulo.language.psi.stub.FileBasedIndex;
+import consulo.logging.Logger;
 import consulo.project.DumbService;
 import consulo.project.Project;
+import consulo.properties.localize.PropertiesLocalize;
 import consulo.virtualFileSystem.VirtualFile;
 import consulo.virtualFileSystem.encoding.EncodingManager;
 import consulo.virtualFileSystem.encoding.EncodingManagerListener;
-import consulo.virtualFileSystem.util.VirtualFileUtil;
 import jakarta.inject.Inject;
 
 import org.jspecify.annotations.Nullable;
-import java.util.Collection;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @TopicImpl(ComponentScope.PROJECT)
 public class PropertiesFilesManagerEncodingListener implements EncodingManagerListener
 {
+	private static final Logger LOG = Logger.getInstance(PropertiesFilesManagerEncodingListener.class);
+	private static final int BATCH_SIZE = 100;
+
 	private final Project myProject;
 
 	@Inject
@@ -39,26 +48,110 @@ public class PropertiesFilesManagerEncodingListener implements EncodingManagerLi
 			{
 				public void run()
 				{
-					ApplicationManager.getApplication().runWriteAction(() ->
+					if(myProject.isDisposed())
 					{
-						if(myProject.isDisposed())
-						{
-							return;
-						}
-						Collection<VirtualFile> filesToRefresh = FileBasedIndex.getInstance().getContainingFiles(FileTypeIndex.NAME, PropertiesFileType.INSTANCE, GlobalSearchScope.allScope
-								(myProject));
-						VirtualFile[] virtualFiles = VirtualFileUtil.toVirtualFileArray(filesToRefresh);
-						FileDocumentManager.getInstance().saveAllDocuments();
-
-						//force to re-detect encoding
-						for(VirtualFile virtualFile : virtualFiles)
+						return;
+					}
+					FileDocumentManager.getInstance().saveAllDocuments();
+					new Task.Backgroundable(myProject, PropertiesLocalize.native2asciiReloadProgressTitle(), true)
+					{
+						@Override
+						public void run(ProgressIndicator indicator)
 						{
-							virtualFile.setCharset(null);
+							reloadPropertiesFiles(indicator);
 						}
-						FileDocumentManager.getInstance().reloadFiles(virtualFiles);
-					});
+					}.queue();
 				}
 			});
 		}
 	}
+
+	/**
+	 * Resets the charset of every properties file so it is detected again, and reloads the open documents whose text depends
+	 * on the new settings. Works through the files in small batches, each one in its own write action on the EDT,
+	 * while the contents are checked in the background.
+	 */
+	private void reloadPropertiesFiles(ProgressIndicator indicator)
+	{
+		Application application = Application.get();
+		List<VirtualFile> files = new ArrayList<VirtualFile>();
+		application.runReadAction(() ->
+		{
+			if(!myProject.isDisposed())
+			{
+				files.addAll(FileBasedIndex.getInstance().getContainingFiles(FileTypeIndex.NAME, PropertiesFileType.INSTANCE, GlobalSearchScope.allScope(myProject)));
+			}
+		});
+
+		indicator.setIndeterminate(false);
+		for(int start = 0; start < files.size(); start += BATCH_SIZE)
+		{
+			indicator.checkCanceled();
+			indicator.setFraction((double) start / files.size());
+			List<VirtualFile> batch = files.subList(start, Math.min(start + BATCH_SIZE, files.size()));
+
+			List<VirtualFile> toReload = new ArrayList<VirtualFile>();
+			for(VirtualFile file : batch)
+			{
+				if(file.isValid() && FileDocumentManager.getInstance().getCachedDocument(file) != null && !isDecodedTheSame(file))
+				{
+					toReload.add(file);
+				}
+			}
+
+			application.invokeAndWait(() -> application.runWriteAction(() ->
+			{
+				if(myProject.isDisposed())
+				{
+					return;
+				}
+				//force to re-detect encoding
+				for(VirtualFile file : batch)
+				{
+					if(file.isValid())
+					{
+						file.setCharset(null);
+					}
+				}
+				List<VirtualFile> reloadable = new ArrayList<VirtualFile>(toReload.size());
+				for(VirtualFile file : toReload)
+				{
+					// a document changed since the files were saved keeps its text
+					Document cachedDocument = FileDocumentManager.getInstance().getCachedDocument(file);
+					if(file.isValid() && cachedDocument != null && !FileDocumentManager.getInstance().isDocumentUnsaved(cachedDocument))
+					{
+						reloadable.add(file);
+					}
+				}
+				FileDocumentManager.getInstance().reloadFiles(reloadable.toArray(VirtualFile.EMPTY_ARRAY));
+			}));
+		}
+	}
+
+	/**
+	 * Plain ascii content without unicode escapes reads the same with any ascii based charset, native2ascii or not.
+	 */
+	private static boolean isDecodedTheSame(VirtualFile file)
+	{
+		byte[] bytes;
+		try
+		{
+			bytes = file.contentsToByteArray();
+		}
+		catch(IOException e)
+		{
+			LOG.debug(e);
+			return false;
+		}
+		for(int i = 0; i < bytes.length; i++)
+		{
+			byte b = bytes[i];
+			// zero bytes come from wide charsets
+			if(b <= 0 || b == '\\' && i + 1 < bytes.length && (bytes[i + 1] == 'u' || bytes[i + 1] == 'U'))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
 }
@@ -26,7 +26,7 @@ public class PropertiesJoinLinesHandler implements JoinLinesHandlerDelegate {
   public int tryJoinLines(final Document doc, final PsiFile psiFile, int start, final int end) {
     if (!(psiFile instanceof PropertiesFile)) return -1;
     // strip continuation char
-    if (PropertiesUtil.isUnescapedBackSlashAtTheEnd(doc.getText().substring(0, start + 1))) {
+    if (PropertiesUtil.isUnescapedBackSlashAtTheEnd(doc.getImmutableCharSequence(), start + 1)) {
       doc.deleteString(start, start + 1);
       start--;
     }
@@ -16,28 +16,46 @@
 package com.intellij.lang.properties;
 
 import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.lang.properties.xml.XmlPropertiesFileRegistry;
 import com.intellij.lang.properties.xml.XmlPropertiesIndex;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.ServiceAPI;
 import consulo.annotation.component.ServiceImpl;
+import consulo.application.Application;
+import consulo.application.progress.ProgressManager;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
+import consulo.application.util.concurrent.JobLauncher;
+import consulo.component.util.ModificationTracker;
+import consulo.component.util.SimpleModificationTracker;
 import consulo.language.psi.PsiFile;
 import consulo.language.psi.PsiManager;
+import consulo.language.psi.PsiReference;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.search.FileTypeIndex;
 import consulo.language.psi.stub.FileBasedIndex;
 import consulo.module.Module;
+import consulo.module.content.ProjectRootManager;
 import consulo.project.DumbService;
 import consulo.project.Project;
 import consulo.util.collection.ArrayUtil;
+import consulo.util.collection.Lists;
+import consulo.util.collection.SmartList;
+import consulo.util.lang.Comparing;
 import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.VirtualFileManager;
+import consulo.virtualFileSystem.event.*;
+import consulo.xml.language.XmlFileType;
 import org.jspecify.annotations.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * @author max
@@ -46,8 +64,12 @@ import java.util.Locale;
 @ServiceAPI(ComponentScope.PROJECT)
 @ServiceImpl
 public class PropertiesReferenceManager {
+    private static final int CONCURRENT_CHUNK_SIZE = 64;
+
     private final PsiManager myPsiManager;
     private final DumbService myDumbService;
+    private final SimpleModificationTracker myPropertiesFilesTracker = new SimpleModificationTracker();
+    private final CachedValue<Map<BundleQuery, List<PropertiesFile>>> myBundleFilesCache;
 
     public static PropertiesReferenceManager getInstance(Project project) {
         return project.getInstance(PropertiesReferenceManager.class);
@@ -57,6 +79,67 @@ public class PropertiesReferenceManager {
     public PropertiesReferenceManager(PsiManager psiManager, DumbService dumbService) {
         myPsiManager = psiManager;
         myDumbService = dumbService;
+
+        Project project = psiManager.getProject();
+        myBundleFilesCache = CachedValuesManager.getManager(project).createCachedValue(
+            () -> CachedValueProvider.Result.create(
+                new ConcurrentHashMap<>(),
+                myPropertiesFilesTracker,
+                ProjectRootManager.getInstance(project)
+            ),
+            false
+        );
+        VirtualFileManager.getInstance().addVirtualFileListener(new VirtualFileAdapter() {
+            @Override
+            public void fileCreated(VirtualFileEvent event) {
+                onFileStructureChanged(event.getFile());
+            }
+
+            @Override
+            public void fileDeleted(VirtualFileEvent event) {
+                onFileStructureChanged(event.getFile());
+            }
+
+            @Override
+            public void fileMoved(VirtualFileMoveEvent event) {
+                onFileStructureChanged(event.getFile());
+            }
+
+            @Override
+            public void fileCopied(VirtualFileCopyEvent event) {
+                onFileStructureChanged(event.getFile());
+            }
+
+            @Override
+            public void propertyChanged(VirtualFilePropertyEvent event) {
+                if (VirtualFile.PROP_NAME.equals(event.getPropertyName())) {
+                    onFileStructureChanged(event.getFile());
+                }
+            }
+
+            @Override
+            public void contentsChanged(VirtualFileEvent event) {
+                // an xml file may start or stop being a properties file, other xml edits do not change any bundle
+                VirtualFile file = event.getFile();
+                if (file.getFileType() == XmlFileType.INSTANCE && XmlPropertiesFileRegistry.getInstance(project).contentsChanged(file)) {
+                    myPropertiesFilesTracker.incModificationCount();
+                }
+            }
+        }, project);
+    }
+
+    private void onFileStructureChanged(VirtualFile file) {
+        // directories take part in bundle names through their package
+        if (file.isDirectory() || file.getFileType() == PropertiesFileType.INSTANCE || file.getFileType() == XmlFileType.INSTANCE) {
+            myPropertiesFilesTracker.incModificationCount();
+        }
+    }
+
+    /**
+     * Incremented whenever a properties file (or a directory which may contain one) is created, deleted, moved or renamed.
+     */
+    public ModificationTracker getPropertiesFilesModificationTracker() {
+        return myPropertiesFilesTracker;
     }
 
     @RequiredReadAction
@@ -68,8 +151,34 @@ public class PropertiesReferenceManager {
     public List<PropertiesFile> findPropertiesFiles(final GlobalSearchScope searchScope,
                                                     final String bundleName,
                                                     BundleNameEvaluator bundleNameEvaluator) {
+        // evaluators implemented by references are per element, caching them would only fill the map
+        if (myDumbService.isDumb() || bundleNameEvaluator instanceof PsiReference) {
+            return doFindPropertiesFiles(searchScope, bundleName, bundleNameEvaluator);
+        }
 
+        Map<BundleQuery, List<PropertiesFile>> cache = myBundleFilesCache.getValue();
+        BundleQuery query = new BundleQuery(searchScope, bundleName, bundleNameEvaluator);
+        List<PropertiesFile> files = cache.get(query);
+        if (files == null || !isValid(files)) {
+            files = doFindPropertiesFiles(searchScope, bundleName, bundleNameEvaluator);
+            cache.put(query, files);
+        }
+        return new ArrayList<>(files);
+    }
 
+    private static boolean isValid(List<PropertiesFile> files) {
+        for (PropertiesFile file : files) {
+            if (!file.getContainingFile().isValid()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @RequiredReadAction
+    private List<PropertiesFile> doFindPropertiesFiles(final GlobalSearchScope searchScope,
+                                                       final String bundleName,
+                                                       BundleNameEvaluator bundleNameEvaluator) {
         final ArrayList<PropertiesFile> result = new ArrayList<>();
         processPropertiesFiles(searchScope, (baseName, propertiesFile) -> {
             if (baseName.equals(bundleName)) {
@@ -77,9 +186,63 @@ public class PropertiesReferenceManager {
             }
             return true;
         }, bundleNameEvaluator);
+        // sorted by name on every path, so that property references resolve with the default locale first without resorting
+        Lists.quickSort(result, (o1, o2) -> Comparing.compare(o1.getName(), o2.getName()));
+        return result;
+    }
+
+    @RequiredReadAction
+    public Map<String, Map<Locale, List<IProperty>>> findPropertiesByKeys(final Module module,
+                                                                         final String bundleName,
+                                                                         final Collection<String> keys) {
+        return findPropertiesByKeys(GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module), bundleName, BundleNameEvaluator.DEFAULT, keys);
+    }
+
+    /**
+     * Resolves many keys against one bundle in a single pass over its files, which is cheaper than resolving
+     * the keys one by one when a whole file of references points into the same bundle.
+     *
+     * @return key to (locale to properties) map; keys which are not defined in any file of the bundle are absent.
+     * Locales are ordered like the bundle files, so the default locale comes first.
+     */
+    @RequiredReadAction
+    public Map<String, Map<Locale, List<IProperty>>> findPropertiesByKeys(final GlobalSearchScope searchScope,
+                                                                         final String bundleName,
+                                                                         final BundleNameEvaluator bundleNameEvaluator,
+                                                                         final Collection<String> keys) {
+        Map<String, Map<Locale, List<IProperty>>> result = new HashMap<>();
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        Set<String> keySet = keys instanceof Set ? (Set<String>) keys : new HashSet<>(keys);
+        for (PropertiesFile propertiesFile : findPropertiesFiles(searchScope, bundleName, bundleNameEvaluator)) {
+            ProgressManager.checkCanceled();
+            Locale locale = propertiesFile.getLocale();
+            List<IProperty> properties = propertiesFile.getProperties();
+            if (keySet.size() < properties.size()) {
+                for (String key : keySet) {
+                    for (IProperty property : propertiesFile.findPropertiesByKey(key)) {
+                        addProperty(result, key, locale, property);
+                    }
+                }
+            }
+            else {
+                for (IProperty property : properties) {
+                    String key = property.getUnescapedKey();
+                    if (key != null && keySet.contains(key)) {
+                        addProperty(result, key, locale, property);
+                    }
+                }
+            }
+        }
         return result;
     }
 
+    private static void addProperty(Map<String, Map<Locale, List<IProperty>>> result, String key, Locale locale, IProperty property) {
+        result.computeIfAbsent(key, k -> new LinkedHashMap<>()).computeIfAbsent(locale, l -> new SmartList<>()).add(property);
+    }
+
     @Nullable
     public PropertiesFile findPropertiesFile(final Module module,
                                              final String bundleName,
@@ -110,7 +273,8 @@ public class PropertiesReferenceManager {
 
     @RequiredReadAction
     public String[] getPropertyFileBaseNames(final GlobalSearchScope searchScope, final BundleNameEvaluator bundleNameEvaluator) {
-        final ArrayList<String> result = new ArrayList<>();
+        final List<String> result = new ArrayList<>();
+        // the caller holds the read lock, so the files are processed on this thread
         processPropertiesFiles(searchScope, (baseName, propertiesFile) -> {
             result.add(baseName);
             return true;
@@ -123,6 +287,98 @@ public class PropertiesReferenceManager {
         return processPropertiesFiles(GlobalSearchScope.allScope(myPsiManager.getProject()), processor, BundleNameEvaluator.DEFAULT);
     }
 
+    public boolean processAllPropertiesFilesConcurrently(final PropertiesFileProcessor processor) {
+        return processPropertiesFilesConcurrently(GlobalSearchScope.allScope(myPsiManager.getProject()), processor, BundleNameEvaluator.DEFAULT);
+    }
+
+    /**
+     * Parallel version of {@link #processPropertiesFiles}: files are split into chunks which are processed
+     * on the shared fork-join pool, each chunk under its own read action.
+     * The processor is invoked from several threads at once and in no particular order, so it must be thread-safe.
+     * <p>
+     * Callers usually hold the read lock already. The workers then give up instead of waiting for their read action
+     * when a write action is pending, and the files they did not get to are processed sequentially on the calling
+     * thread, which keeps the read lock it already has.
+     */
+    public boolean processPropertiesFilesConcurrently(final GlobalSearchScope searchScope,
+                                                      final PropertiesFileProcessor processor,
+                                                      final BundleNameEvaluator evaluator) {
+        Application application = Application.get();
+        boolean underReadAction = application.isReadAccessAllowed();
+        List<VirtualFile> files = underReadAction
+            ? collectPropertiesFiles(searchScope)
+            : application.runReadAction((Supplier<List<VirtualFile>>) () -> collectPropertiesFiles(searchScope));
+        if (files.isEmpty()) {
+            return true;
+        }
+
+        List<List<VirtualFile>> chunks = new ArrayList<>();
+        for (int i = 0; i < files.size(); i += CONCURRENT_CHUNK_SIZE) {
+            chunks.add(files.subList(i, Math.min(i + CONCURRENT_CHUNK_SIZE, files.size())));
+        }
+
+        Set<List<VirtualFile>> processedChunks = ConcurrentHashMap.newKeySet();
+        AtomicBoolean stopped = new AtomicBoolean();
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+            chunks,
+            ProgressManager.getInstance().getProgressIndicator(),
+            true,
+            underReadAction,
+            chunk -> {
+                for (VirtualFile file : chunk) {
+                    ProgressManager.checkCanceled();
+                    if (!processFile(file, evaluator, processor)) {
+                        stopped.set(true);
+                        return false;
+                    }
+                }
+                processedChunks.add(chunk);
+                return true;
+            }
+        );
+        if (completed || stopped.get() || !underReadAction) {
+            return completed;
+        }
+
+        // a worker failed to get the read lock; each chunk runs under one read action, so unfinished chunks were not started
+        for (List<VirtualFile> chunk : chunks) {
+            if (processedChunks.contains(chunk)) {
+                continue;
+            }
+            for (VirtualFile file : chunk) {
+                ProgressManager.checkCanceled();
+                if (!processFile(file, evaluator, processor)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @RequiredReadAction
+    private List<VirtualFile> collectPropertiesFiles(final GlobalSearchScope searchScope) {
+        List<VirtualFile> files = new ArrayList<>(FileTypeIndex.getFiles(PropertiesFileType.INSTANCE, searchScope));
+        files.addAll(getXmlPropertiesFiles(searchScope));
+        return files;
+    }
+
+    /**
+     * While indexing, falls back to the xml files remembered by {@link XmlPropertiesFileRegistry};
+     * {@link #processFile} re-checks their content anyway.
+     */
+    @RequiredReadAction
+    private Collection<VirtualFile> getXmlPropertiesFiles(final GlobalSearchScope searchScope) {
+        XmlPropertiesFileRegistry registry = XmlPropertiesFileRegistry.getInstance(myPsiManager.getProject());
+        if (myDumbService.isDumb()) {
+            return registry.getFiles(searchScope);
+        }
+        Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(XmlPropertiesIndex.NAME, XmlPropertiesIndex.MARKER_KEY, searchScope);
+        for (VirtualFile file : files) {
+            registry.setAccepted(file, true);
+        }
+        return files;
+    }
+
     @RequiredReadAction
     public boolean processPropertiesFiles(final GlobalSearchScope searchScope,
                                           @RequiredReadAction final PropertiesFileProcessor processor,
@@ -133,11 +389,9 @@ public class PropertiesReferenceManager {
                 return false;
             }
         }
-        if (!myDumbService.isDumb()) {
-            for (VirtualFile file : FileBasedIndex.getInstance().getContainingFiles(XmlPropertiesIndex.NAME, XmlPropertiesIndex.MARKER_KEY, searchScope)) {
-                if (!processFile(file, evaluator, processor)) {
-                    return false;
-                }
+        for (VirtualFile file : getXmlPropertiesFiles(searchScope)) {
+            if (!processFile(file, evaluator, processor)) {
+                return false;
             }
         }
 
@@ -158,4 +412,33 @@ public class PropertiesReferenceManager {
         }
         return true;
     }
+
+    private static final class BundleQuery {
+        private final GlobalSearchScope myScope;
+        private final String myBundleName;
+        private final BundleNameEvaluator myEvaluator;
+
+        private BundleQuery(GlobalSearchScope scope, String bundleName, BundleNameEvaluator evaluator) {
+            myScope = scope;
+            myBundleName = bundleName;
+            myEvaluator = evaluator;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BundleQuery)) {
+                return false;
+            }
+            BundleQuery that = (BundleQuery) o;
+            return myEvaluator == that.myEvaluator && myBundleName.equals(that.myBundleName) && myScope.equals(that.myScope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(myScope, myBundleName, System.identityHashCode(myEvaluator));
+        }
+    }
 }
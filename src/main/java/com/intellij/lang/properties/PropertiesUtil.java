@@ -182,8 +182,16 @@ public class PropertiesUtil {
   }
 
   public static boolean isUnescapedBackSlashAtTheEnd (String text) {
+    return isUnescapedBackSlashAtTheEnd(text, text.length());
+  }
+
+  /**
+   * Same as {@link #isUnescapedBackSlashAtTheEnd(String)} for the text before {@code end}, scanning back from it
+   * so a document does not have to be copied.
+   */
+  public static boolean isUnescapedBackSlashAtTheEnd(CharSequence text, int end) {
     boolean result = false;
-    for (int i = text.length()-1; i>=0; i--) {
+    for (int i = end-1; i>=0; i--) {
       if (text.charAt(i) == '\\') {
         result = !result;
       }
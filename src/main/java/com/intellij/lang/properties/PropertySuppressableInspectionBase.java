@@ -20,6 +20,9 @@ import com.intellij.lang.properties.psi.PropertiesList;
 import com.intellij.lang.properties.psi.Property;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.access.RequiredWriteAction;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
 import consulo.codeEditor.Editor;
 import consulo.document.Document;
 import consulo.language.editor.FileModificationService;
@@ -33,12 +36,20 @@ import consulo.localize.LocalizeValue;
 import consulo.logging.Logger;
 import consulo.project.Project;
 import consulo.properties.localize.PropertiesLocalize;
+import consulo.util.dataholder.Key;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author cdr
  */
 public abstract class PropertySuppressableInspectionBase extends LocalInspectionTool implements CustomSuppressableInspectionTool {
     private static final Logger LOG = Logger.getInstance(PropertySuppressableInspectionBase.class);
+    private static final Key<CachedValue<SuppressionTable>> SUPPRESSION_TABLE_KEY = Key.create("properties.suppression.table");
 
     @Override
     public LocalizeValue getGroupDisplayName() {
@@ -73,42 +84,101 @@ public abstract class PropertySuppressableInspectionBase extends LocalInspection
             }
         }
         else {
-            PsiElement prev = property.getPrevSibling();
-            while (prev instanceof PsiWhiteSpace || prev instanceof PsiComment) {
-                if (prev instanceof PsiComment prevComment) {
-                    String text = prevComment.getText();
-                    if (text.contains("suppress") && text.contains("\"" + getShortName() + "\"")) {
-                        return true;
-                    }
-                }
-                prev = prev.getPrevSibling();
-            }
             file = property.getPropertiesFile();
         }
-        PsiElement leaf = file.getContainingFile().findElementAt(0);
+        return getSuppressionTable(file).isSuppressed(property, getShortName());
+    }
+
+    @RequiredReadAction
+    private static SuppressionTable getSuppressionTable(PropertiesFile propertiesFile) {
+        PsiFile file = propertiesFile.getContainingFile();
+        return CachedValuesManager.getManager(file.getProject()).getCachedValue(
+            file,
+            SUPPRESSION_TABLE_KEY,
+            () -> CachedValueProvider.Result.create(buildSuppressionTable(propertiesFile), file),
+            false
+        );
+    }
+
+    @RequiredReadAction
+    private static SuppressionTable buildSuppressionTable(PropertiesFile propertiesFile) {
+        SuppressionTable table = new SuppressionTable();
+        PsiElement leaf = propertiesFile.getContainingFile().findElementAt(0);
         while (leaf instanceof PsiWhiteSpace space) {
             leaf = space.getNextSibling();
         }
 
         while (leaf instanceof PsiComment comment) {
             String text = comment.getText();
-            if (text.contains("suppress") && text.contains("\"" + getShortName() + "\"") && text.contains("file")) {
-                return true;
+            boolean suppress = text.contains("suppress");
+            if (suppress && text.contains("file")) {
+                collectQuotedIds(text, table.myFileIds);
             }
             leaf = leaf.getNextSibling();
             if (leaf instanceof PsiWhiteSpace space) {
                 leaf = space.getNextSibling();
             }
             // comment before first property get bound to the file, not property
-            if (leaf instanceof PropertiesList propList
-                && propList.getFirstChild() == property
-                && text.contains("suppress")
-                && text.contains("\"" + getShortName() + "\"")) {
-                return true;
+            if (suppress && leaf instanceof PropertiesList propList && propList.getFirstChild() instanceof Property first) {
+                collectQuotedIds(text, table.getPropertyIds(first));
             }
         }
 
-        return false;
+        for (IProperty p : propertiesFile.getProperties()) {
+            if (!(p instanceof Property property)) {
+                continue;
+            }
+            PsiElement prev = property.getPrevSibling();
+            while (prev instanceof PsiWhiteSpace || prev instanceof PsiComment) {
+                if (prev instanceof PsiComment prevComment) {
+                    String text = prevComment.getText();
+                    if (text.contains("suppress")) {
+                        collectQuotedIds(text, table.getPropertyIds(property));
+                    }
+                }
+                prev = prev.getPrevSibling();
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Adds every string between two subsequent quotes, so that an id is collected exactly when
+     * the text contains it in quotes, as in {@code # suppress inspection "UnusedProperty"}.
+     */
+    private static void collectQuotedIds(String text, Set<String> ids) {
+        int start = text.indexOf('"');
+        while (start >= 0) {
+            int end = text.indexOf('"', start + 1);
+            if (end < 0) {
+                break;
+            }
+            ids.add(text.substring(start + 1, end));
+            start = end;
+        }
+    }
+
+    /**
+     * Inspection ids suppressed for the whole file and for single properties, built once per file modification.
+     */
+    private static final class SuppressionTable {
+        private final Set<String> myFileIds = new HashSet<>();
+        private final Map<Property, Set<String>> myPropertyIds = new HashMap<>();
+
+        private Set<String> getPropertyIds(Property property) {
+            return myPropertyIds.computeIfAbsent(property, p -> new HashSet<>());
+        }
+
+        boolean isSuppressed(@Nullable Property property, String id) {
+            if (myFileIds.contains(id)) {
+                return true;
+            }
+            if (property == null) {
+                return false;
+            }
+            Set<String> ids = myPropertyIds.get(property);
+            return ids != null && ids.contains(id);
+        }
     }
 
     private static class SuppressSinglePropertyFix extends SuppressIntentionAction {
@@ -15,6 +15,8 @@
  */
 package com.intellij.lang.properties;
 
+import com.intellij.lang.properties.parsing.PropertiesTokenTypes;
+import com.intellij.lang.properties.parsing._PropertiesLexer;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.lang.properties.psi.impl.PropertyImpl;
 import consulo.annotation.access.RequiredReadAction;
@@ -24,12 +26,13 @@ import consulo.application.progress.ProgressManager;
 import consulo.document.Document;
 import consulo.document.util.TextRange;
 import consulo.language.Language;
-import consulo.language.ast.ASTNode;
+import consulo.language.ast.IElementType;
 import consulo.language.editor.inspection.LocalQuickFix;
 import consulo.language.editor.inspection.ProblemDescriptor;
 import consulo.language.editor.inspection.ProblemHighlightType;
 import consulo.language.editor.inspection.scheme.InspectionManager;
 import consulo.language.editor.rawHighlight.HighlightDisplayLevel;
+import consulo.language.lexer.Lexer;
 import consulo.language.psi.PsiDocumentManager;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
@@ -71,54 +74,50 @@ public class TrailingSpacesInPropertyInspection extends PropertySuppressableInsp
     @Override
     @RequiredReadAction
     public ProblemDescriptor[] checkFile(PsiFile file, final InspectionManager manager, final boolean isOnTheFly) {
-        if (!(file instanceof PropertiesFile propertiesFile)) {
+        if (!(file instanceof PropertiesFile)) {
             return null;
         }
-        final List<IProperty> properties = propertiesFile.getProperties();
         final List<ProblemDescriptor> descriptors = new SmartList<>();
 
-        for (IProperty property : properties) {
-            ProgressManager.checkCanceled();
+        // one pass over the lexer tokens of the text; the psi is only touched for the reported tokens
+        CharSequence text = file.getViewProvider().getContents();
+        Lexer lexer = new _PropertiesLexer();
+        lexer.start(text);
+        IElementType tokenType;
+        while ((tokenType = lexer.getTokenType()) != null) {
+            if (tokenType == PropertiesTokenTypes.KEY_CHARACTERS || tokenType == PropertiesTokenTypes.VALUE_CHARACTERS) {
+                ProgressManager.checkCanceled();
 
-            ASTNode keyNode = ((PropertyImpl) property).getKeyNode();
-            if (keyNode != null) {
-                PsiElement key = keyNode.getPsi();
-                TextRange textRange = getTrailingSpaces(key);
-                if (textRange != null) {
-                    descriptors.add(manager.createProblemDescriptor(
-                        key,
-                        textRange,
-                        "Trailing Spaces",
-                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
-                        true,
-                        RemoveTrailingSpacesFix.INSTANCE
-                    ));
-                }
-            }
-            ASTNode valueNode = ((PropertyImpl) property).getValueNode();
-            if (valueNode != null) {
-                PsiElement value = valueNode.getPsi();
-                TextRange textRange = getTrailingSpaces(value);
-                if (textRange != null) {
-                    descriptors.add(manager.createProblemDescriptor(
-                        value,
-                        textRange,
-                        "Trailing Spaces",
-                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
-                        true,
-                        RemoveTrailingSpacesFix.INSTANCE
-                    ));
+                int tokenStart = lexer.getTokenStart();
+                int tokenEnd = lexer.getTokenEnd();
+                int spacesStart = PropertyImpl.trailingSpacesStart(text, tokenStart, tokenEnd);
+                if (spacesStart != -1) {
+                    PsiElement element = file.findElementAt(tokenStart);
+                    if (element != null
+                        && element.getNode().getElementType() == tokenType
+                        && element.getTextRange().getStartOffset() == tokenStart
+                        && element.getParent() instanceof PropertyImpl) {
+                        descriptors.add(manager.createProblemDescriptor(
+                            element,
+                            new TextRange(spacesStart - tokenStart, tokenEnd - tokenStart),
+                            "Trailing Spaces",
+                            ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
+                            true,
+                            RemoveTrailingSpacesFix.INSTANCE
+                        ));
+                    }
                 }
             }
+            lexer.advance();
         }
         return descriptors.toArray(new ProblemDescriptor[descriptors.size()]);
     }
 
     @RequiredReadAction
     private static TextRange getTrailingSpaces(PsiElement element) {
-        String key = element.getText();
-
-        return PropertyImpl.trailingSpaces(key);
+        CharSequence text = element.getNode().getChars();
+        int spacesStart = PropertyImpl.trailingSpacesStart(text, 0, text.length());
+        return spacesStart == -1 ? null : new TextRange(spacesStart, text.length());
     }
 
     private static class RemoveTrailingSpacesFix implements LocalQuickFix {
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Converts between text and its native2ascii form, where every non-ascii char is written as a <code>&#92;uXXXX</code> escape.
+ * <p/>
+ * The escapes are made of UTF-16 chars as {@link java.util.Properties} reads them, so a supplementary code point
+ * is written as the escapes of its two surrogates and two consecutive surrogate escapes are read back as one code point.
+ * An escaped backslash is copied as is, so {@code \\u0041} stays unchanged.
+ */
+public final class Native2AsciiCodec {
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+  // -1 for the chars that are not hex digits
+  private static final byte[] HEX_VALUES = new byte[128];
+
+  static {
+    for (int i = 0; i < HEX_VALUES.length; i++) {
+      HEX_VALUES[i] = (byte)Character.digit(i, 16);
+    }
+  }
+
+  private static final int BUFFER_SIZE = 8192;
+  // length of "\\uXXXX"
+  private static final int ESCAPE_LENGTH = 6;
+
+  private Native2AsciiCodec() {
+  }
+
+  public static boolean needsEscape(char c) {
+    return c > 127;
+  }
+
+  /**
+   * Appends <code>&#92;uXXXX</code> escape of the given char.
+   */
+  public static void appendEscape(StringBuilder buffer, char c) {
+    buffer.append('\\').append('u')
+      .append(HEX_DIGITS[(c >> 12) & 0xF])
+      .append(HEX_DIGITS[(c >> 8) & 0xF])
+      .append(HEX_DIGITS[(c >> 4) & 0xF])
+      .append(HEX_DIGITS[c & 0xF]);
+  }
+
+  private static int writeEscape(char[] buffer, int offset, char c) {
+    buffer[offset] = '\\';
+    buffer[offset + 1] = 'u';
+    buffer[offset + 2] = HEX_DIGITS[(c >> 12) & 0xF];
+    buffer[offset + 3] = HEX_DIGITS[(c >> 8) & 0xF];
+    buffer[offset + 4] = HEX_DIGITS[(c >> 4) & 0xF];
+    buffer[offset + 5] = HEX_DIGITS[c & 0xF];
+    return offset + ESCAPE_LENGTH;
+  }
+
+  /**
+   * Parses the {@code uXXXX} part of an escape, {@code U} is accepted as well.
+   *
+   * @param text   text to process
+   * @param offset offset of the 'u' char, i.e. right after the backslash
+   * @return       escaped char, or -1 if there is no escape at the given offset
+   */
+  public static int parseEscape(CharSequence text, int offset) {
+    if (text.length() < offset + 5) {
+      return -1;
+    }
+    char u = text.charAt(offset);
+    if (u != 'u' && u != 'U') {
+      return -1;
+    }
+    int result = 0;
+    for (int i = offset + 1; i < offset + 5; i++) {
+      char c = text.charAt(i);
+      int digit = c < HEX_VALUES.length ? HEX_VALUES[c] : -1;
+      if (digit < 0) {
+        return -1;
+      }
+      result = (result << 4) | digit;
+    }
+    return result;
+  }
+
+  public static String encode(CharSequence text) {
+    int length = text.length();
+    int escapes = 0;
+    for (int i = 0; i < length; i++) {
+      if (needsEscape(text.charAt(i))) {
+        escapes++;
+      }
+    }
+    if (escapes == 0) {
+      return text.toString();
+    }
+    char[] result = new char[length + escapes * (ESCAPE_LENGTH - 1)];
+    int offset = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (needsEscape(c)) {
+        offset = writeEscape(result, offset, c);
+      }
+      else {
+        result[offset++] = c;
+      }
+    }
+    return new String(result);
+  }
+
+  public static String decode(CharSequence text) {
+    int length = text.length();
+    int i = indexOf(text, '\\', 0);
+    if (i < 0) {
+      return text.toString();
+    }
+    // decoding only shortens the text
+    char[] result = new char[length];
+    int offset = 0;
+    for (int j = 0; j < i; j++) {
+      result[offset++] = text.charAt(j);
+    }
+    while (i < length) {
+      char c = text.charAt(i);
+      if (c != '\\') {
+        result[offset++] = c;
+        i++;
+        continue;
+      }
+      int escaped = parseEscape(text, i + 1);
+      if (escaped >= 0) {
+        result[offset++] = (char)escaped;
+        i += ESCAPE_LENGTH;
+      }
+      else {
+        // the backslash escapes the next char whatever it is
+        result[offset++] = c;
+        if (i + 1 < length) {
+          result[offset++] = text.charAt(i + 1);
+        }
+        i += 2;
+      }
+    }
+    return new String(result, 0, offset);
+  }
+
+  /**
+   * Streaming variant of {@link #encode(CharSequence)}, the streams are not closed.
+   */
+  public static void encode(Reader in, Writer out) throws IOException {
+    char[] chars = new char[BUFFER_SIZE];
+    char[] result = new char[BUFFER_SIZE * ESCAPE_LENGTH];
+    int read;
+    while ((read = in.read(chars)) >= 0) {
+      int offset = 0;
+      for (int i = 0; i < read; i++) {
+        char c = chars[i];
+        if (needsEscape(c)) {
+          offset = writeEscape(result, offset, c);
+        }
+        else {
+          result[offset++] = c;
+        }
+      }
+      out.write(result, 0, offset);
+    }
+  }
+
+  /**
+   * Streaming variant of {@link #decode(CharSequence)}, the streams are not closed.
+   */
+  public static void decode(Reader in, Writer out) throws IOException {
+    char[] chars = new char[BUFFER_SIZE];
+    char[] result = new char[BUFFER_SIZE];
+    CharArraySequence sequence = new CharArraySequence(chars);
+    int length = 0;
+    boolean eof = false;
+    while (!eof || length > 0) {
+      if (!eof) {
+        int read = in.read(chars, length, chars.length - length);
+        if (read < 0) {
+          eof = true;
+        }
+        else {
+          length += read;
+        }
+      }
+      sequence.myLength = length;
+      // an escape may continue in the next chunk, so the tail is kept unless the input is over
+      int limit = eof ? length : length - ESCAPE_LENGTH + 1;
+      int i = 0;
+      int offset = 0;
+      while (i < limit) {
+        char c = chars[i];
+        if (c != '\\') {
+          result[offset++] = c;
+          i++;
+          continue;
+        }
+        int escaped = parseEscape(sequence, i + 1);
+        if (escaped >= 0) {
+          result[offset++] = (char)escaped;
+          i += ESCAPE_LENGTH;
+        }
+        else {
+          result[offset++] = c;
+          if (i + 1 < length) {
+            result[offset++] = chars[i + 1];
+          }
+          i += 2;
+        }
+      }
+      out.write(result, 0, offset);
+      i = Math.min(i, length);
+      System.arraycopy(chars, i, chars, 0, length - i);
+      length -= i;
+    }
+  }
+
+  private static int indexOf(CharSequence text, char c, int from) {
+    for (int i = from; i < text.length(); i++) {
+      if (text.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static final class CharArraySequence implements CharSequence {
+    private final char[] myChars;
+    private int myLength;
+
+    private CharArraySequence(char[] chars) {
+      myChars = chars;
+    }
+
+    @Override
+    public int length() {
+      return myLength;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return myChars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return new String(myChars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(myChars, 0, myLength);
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import com.intellij.lang.properties.psi.impl.PropertyImpl;
+import consulo.document.Document;
+import consulo.document.event.DocumentAdapter;
+import consulo.document.event.DocumentEvent;
+import consulo.util.dataholder.Key;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line ranges of the properties of a properties file document, sorted by line.
+ * Created once per document and kept up to date on document changes by re-reading only the changed lines,
+ * so looking up the property at a line is a binary search and does not need PSI.
+ */
+class PropertyLineIndex extends DocumentAdapter
+{
+	private static final Key<PropertyLineIndex> KEY = Key.create("properties.line.index");
+
+	private final Document myDocument;
+	private final List<Entry> myEntries = new ArrayList<Entry>();
+	private int myOldStartLine;
+	private int myOldEndLine;
+
+	private PropertyLineIndex(Document document)
+	{
+		myDocument = document;
+		rescan(0, document.getLineCount() - 1, 0);
+	}
+
+	static PropertyLineIndex getInstance(Document document)
+	{
+		PropertyLineIndex index = document.getUserData(KEY);
+		if(index == null)
+		{
+			index = new PropertyLineIndex(document);
+			document.putUserData(KEY, index);
+			// lives as long as the document itself
+			document.addDocumentListener(index);
+		}
+		return index;
+	}
+
+	/**
+	 * @return unescaped key of the property spanning the line, or null if the line is blank, a comment or out of range
+	 */
+	@Nullable
+	String getKey(int line)
+	{
+		int index = findEntry(line);
+		if(index < myEntries.size() && myEntries.get(index).myStartLine <= line)
+		{
+			return myEntries.get(index).myKey;
+		}
+		return null;
+	}
+
+	/**
+	 * @return first line of the property with the given unescaped key, or -1
+	 */
+	int getStartLine(String key)
+	{
+		for(Entry entry : myEntries)
+		{
+			if(key.equals(entry.myKey))
+			{
+				return entry.myStartLine;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void beforeDocumentChange(DocumentEvent e)
+	{
+		myOldStartLine = myDocument.getLineNumber(e.getOffset());
+		myOldEndLine = myDocument.getLineNumber(e.getOffset() + e.getOldLength());
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent e)
+	{
+		int newEndLine = myDocument.getLineNumber(e.getOffset() + e.getNewLength());
+		int delta = newEndLine - myOldEndLine;
+
+		int index = findEntry(myOldStartLine);
+		int startLine = myOldStartLine;
+		if(index < myEntries.size() && myEntries.get(index).myStartLine < startLine)
+		{
+			startLine = myEntries.get(index).myStartLine;
+		}
+		// the lines of the changed properties may turn into separate properties, so all of them are read again
+		int scanEndLine = newEndLine;
+		while(index < myEntries.size() && myEntries.get(index).myStartLine <= myOldEndLine)
+		{
+			scanEndLine = Math.max(scanEndLine, myEntries.get(index).myEndLine + delta);
+			myEntries.remove(index);
+		}
+		if(delta != 0)
+		{
+			for(int i = index; i < myEntries.size(); i++)
+			{
+				Entry entry = myEntries.get(i);
+				entry.myStartLine += delta;
+				entry.myEndLine += delta;
+			}
+		}
+		rescan(startLine, scanEndLine, index);
+	}
+
+	/**
+	 * @return index of the first entry ending at the line or after it
+	 */
+	private int findEntry(int line)
+	{
+		int low = 0;
+		int high = myEntries.size();
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(myEntries.get(mid).myEndLine < line)
+			{
+				low = mid + 1;
+			}
+			else
+			{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Reads the properties starting at {@code line} up to the first property boundary after {@code scanEndLine}
+	 * and puts them at {@code index}, replacing the entries they overlap.
+	 */
+	private void rescan(int line, int scanEndLine, int index)
+	{
+		CharSequence text = myDocument.getCharsSequence();
+		int lineCount = myDocument.getLineCount();
+		while(line < lineCount && line <= scanEndLine)
+		{
+			int lineStart = myDocument.getLineStartOffset(line);
+			int lineEnd = myDocument.getLineEndOffset(line);
+			int keyStart = lineStart;
+			while(keyStart < lineEnd && isWhitespace(text.charAt(keyStart)))
+			{
+				keyStart++;
+			}
+			int endLine = line;
+			String key = null;
+			if(keyStart < lineEnd && text.charAt(keyStart) != '#' && text.charAt(keyStart) != '!')
+			{
+				int keyEnd = keyStart;
+				while(keyEnd < lineEnd)
+				{
+					char c = text.charAt(keyEnd);
+					if(c == '\\')
+					{
+						keyEnd = Math.min(keyEnd + 2, lineEnd);
+					}
+					else if(c == '=' || c == ':' || isWhitespace(c))
+					{
+						break;
+					}
+					else
+					{
+						keyEnd++;
+					}
+				}
+				key = PropertyImpl.unescape(text.subSequence(keyStart, keyEnd).toString());
+				while(endLine + 1 < lineCount && isContinued(text, myDocument.getLineStartOffset(endLine), myDocument.getLineEndOffset(endLine)))
+				{
+					endLine++;
+				}
+			}
+
+			while(index < myEntries.size() && myEntries.get(index).myStartLine <= endLine)
+			{
+				myEntries.remove(index);
+			}
+			if(key != null)
+			{
+				myEntries.add(index++, new Entry(line, endLine, key));
+			}
+			line = endLine + 1;
+		}
+	}
+
+	private static boolean isWhitespace(char c)
+	{
+		return c == ' ' || c == '\t' || c == '\f';
+	}
+
+	private static boolean isContinued(CharSequence text, int lineStart, int lineEnd)
+	{
+		int backslashes = 0;
+		for(int i = lineEnd - 1; i >= lineStart && text.charAt(i) == '\\'; i--)
+		{
+			backslashes++;
+		}
+		return backslashes % 2 == 1;
+	}
+
+	private static final class Entry
+	{
+		private int myStartLine;
+		private int myEndLine;
+		private final String myKey;
+
+		private Entry(int startLine, int endLine, String key)
+		{
+			myStartLine = startLine;
+			myEndLine = endLine;
+			myKey = key;
+		}
+	}
+}
@@ -22,7 +22,9 @@ package com.intellij.lang.properties.editor;
 import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.PropertiesUtil;
 import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.parsing.PropertiesTokenTypes;
 import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.lang.properties.psi.Property;
 import consulo.application.Application;
 import consulo.application.ApplicationManager;
 import consulo.application.WriteAction;
@@ -42,12 +44,17 @@ import consulo.fileEditor.event.FileEditorManagerEvent;
 import consulo.fileEditor.event.FileEditorManagerListener;
 import consulo.fileEditor.structureView.tree.TreeElement;
 import consulo.ide.impl.idea.ide.structureView.newStructureView.StructureViewComponent;
+import consulo.language.ast.ASTNode;
 import consulo.language.editor.highlight.LexerEditorHighlighter;
+import consulo.language.psi.PsiComment;
 import consulo.language.psi.PsiDocumentManager;
+import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
 import consulo.language.psi.PsiManager;
+import consulo.language.psi.PsiWhiteSpace;
 import consulo.language.psi.event.PsiTreeChangeAdapter;
 import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.language.psi.util.PsiTreeUtil;
 import consulo.language.util.IncorrectOperationException;
 import consulo.logging.Logger;
 import consulo.project.Project;
@@ -77,9 +84,14 @@ import kava.beans.PropertyChangeListener;
 import org.jspecify.annotations.Nullable;
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.event.TreeSelectionEvent;
 import javax.swing.event.TreeSelectionListener;
 import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.awt.event.FocusAdapter;
@@ -93,6 +105,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 	private static final Logger LOG = Logger.getInstance(ResourceBundleEditor.class);
 	private static final String VALUES = "values";
 	private static final String NO_PROPERTY_SELECTED = "noPropertySelected";
+	private static final int OFFSCREEN_EDITOR_RELEASE_DELAY = 30000;
 
 	private final StructureViewComponent myStructureViewComponent;
 	private final Map<PropertiesFile, Editor> myEditors;
@@ -106,6 +119,18 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 	// we cannot store it back to properties file right now, so just append the backslash to the editor and wait for the subsequent chars
 	private final Set<PropertiesFile> myBackSlashPressed = new HashSet<PropertiesFile>();
 	private final Alarm myUpdateEditorAlarm = new Alarm();
+	// keys changed since the editors were last updated, a null key means any key of the file
+	private final Map<PropertiesFile, Set<String>> myChangedKeys = new HashMap<PropertiesFile, Set<String>>();
+	private boolean myAllFilesChanged;
+	private boolean myEditorsUpdateScheduled;
+	// locale editors are created when their panel scrolls into view and released when it stays out of view for a while
+	private final Map<PropertiesFile, Long> myOffscreenSince = new HashMap<PropertiesFile, Long>();
+	private final Alarm myReleaseEditorsAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+	private JViewport myValuesViewport;
+	// property name -> its node in the structure view tree, rebuilt when the tree model has changed
+	private final Map<String, DefaultMutableTreeNode> myPropertyNodes = new HashMap<String, DefaultMutableTreeNode>();
+	private boolean myPropertyNodesValid;
+	private int myLineHeight = -1;
 	private final Alarm mySelectionChangeAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD);
 
 	private JPanel myValuesPanel;
@@ -155,6 +180,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 				}
 			}
 		});
+		installPropertyNodesListener(myStructureViewComponent.getTree());
 		installPropertiesChangeListeners();
 
 		myEditors = new HashMap<PropertiesFile, Editor>();
@@ -212,7 +238,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 		{
 			return;
 		}
-		final String propertyName = getPropertyName(document, line);
+		final String propertyName = PropertyLineIndex.getInstance(document).getKey(line);
 		if(propertyName == null)
 		{
 			return;
@@ -244,45 +270,89 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			return;
 		}
 
-		Stack<DefaultMutableTreeNode> toCheck = new Stack<>();
-		toCheck.push((DefaultMutableTreeNode) root);
-		DefaultMutableTreeNode nodeToSelect = null;
-		while(!toCheck.isEmpty())
+		DefaultMutableTreeNode nodeToSelect = findPropertyNode((DefaultMutableTreeNode) root, propertyName);
+		if(nodeToSelect != null)
+		{
+			TreePath path = new TreePath(nodeToSelect.getPath());
+			tree.setSelectionPath(path);
+			tree.scrollPathToVisible(path);
+		}
+	}
+
+	private void installPropertyNodesListener(JTree tree)
+	{
+		final TreeModelListener listener = new TreeModelListener()
 		{
-			DefaultMutableTreeNode node = toCheck.pop();
-			String value = getNodeValue(node);
-			if(propertyName.equals(value))
+			@Override
+			public void treeNodesChanged(TreeModelEvent e)
 			{
-				nodeToSelect = node;
-				break;
+				myPropertyNodesValid = false;
 			}
-			else
+
+			@Override
+			public void treeNodesInserted(TreeModelEvent e)
+			{
+				myPropertyNodesValid = false;
+			}
+
+			@Override
+			public void treeNodesRemoved(TreeModelEvent e)
+			{
+				myPropertyNodesValid = false;
+			}
+
+			@Override
+			public void treeStructureChanged(TreeModelEvent e)
+			{
+				myPropertyNodesValid = false;
+			}
+		};
+		tree.getModel().addTreeModelListener(listener);
+		tree.addPropertyChangeListener(JTree.TREE_MODEL_PROPERTY, new java.beans.PropertyChangeListener()
+		{
+			@Override
+			public void propertyChange(java.beans.PropertyChangeEvent evt)
 			{
-				for(int i = 0; i < node.getChildCount(); i++)
+				if(evt.getOldValue() instanceof TreeModel)
 				{
-					toCheck.push((DefaultMutableTreeNode) node.getChildAt(i));
+					((TreeModel) evt.getOldValue()).removeTreeModelListener(listener);
 				}
+				if(evt.getNewValue() instanceof TreeModel)
+				{
+					((TreeModel) evt.getNewValue()).addTreeModelListener(listener);
+				}
+				myPropertyNodesValid = false;
 			}
-		}
-		if(nodeToSelect != null)
-		{
-			TreePath path = new TreePath(nodeToSelect.getPath());
-			tree.setSelectionPath(path);
-			tree.scrollPathToVisible(path);
-		}
+		});
 	}
 
 	@Nullable
-	private static String getPropertyName(Document document, int line)
+	private DefaultMutableTreeNode findPropertyNode(DefaultMutableTreeNode root, String propertyName)
 	{
-		int startOffset = document.getLineStartOffset(line);
-		int endOffset = StringUtil.indexOf(document.getCharsSequence(), '=', startOffset, document.getLineEndOffset(line));
-		if(endOffset <= startOffset)
+		DefaultMutableTreeNode node = myPropertyNodes.get(propertyName);
+		if(myPropertyNodesValid && (node == null || node.getRoot() == root))
 		{
-			return null;
+			return node;
+		}
+
+		myPropertyNodes.clear();
+		Stack<DefaultMutableTreeNode> toCheck = new Stack<>();
+		toCheck.push(root);
+		while(!toCheck.isEmpty())
+		{
+			DefaultMutableTreeNode current = toCheck.pop();
+			String value = getNodeValue(current);
+			if(value != null)
+			{
+				myPropertyNodes.put(value, current);
+			}
+			for(int i = 0; i < current.getChildCount(); i++)
+			{
+				toCheck.push((DefaultMutableTreeNode) current.getChildAt(i));
+			}
 		}
-		String propertyName = document.getCharsSequence().subSequence(startOffset, endOffset).toString().trim();
-		return propertyName.isEmpty() ? null : propertyName;
+		myPropertyNodesValid = true;
+		return myPropertyNodes.get(propertyName);
 	}
 
 	private void setPropertiesFileSelectionFromStructureView(Editor propertiesFileEditor)
@@ -293,15 +363,10 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			return;
 		}
 
-		Document document = propertiesFileEditor.getDocument();
-		for(int i = 0; i < document.getLineCount(); i++)
+		int line = PropertyLineIndex.getInstance(propertiesFileEditor.getDocument()).getStartLine(selectedPropertyName);
+		if(line >= 0)
 		{
-			String propertyName = getPropertyName(document, i);
-			if(selectedPropertyName.equals(propertyName))
-			{
-				propertiesFileEditor.getCaretModel().moveToLogicalPosition(new LogicalPosition(i, 0));
-				return;
-			}
+			propertiesFileEditor.getCaretModel().moveToLogicalPosition(new LogicalPosition(line, 0));
 		}
 	}
 
@@ -320,6 +385,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 	private void recreateEditorsPanel()
 	{
 		myUpdateEditorAlarm.cancelAllRequests();
+		myEditorsUpdateScheduled = false;
 
 		myValuesPanel.removeAll();
 		myValuesPanel.setLayout(new CardLayout());
@@ -329,7 +395,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			return;
 		}
 		JPanel valuesPanelComponent = new MyJPanel(new GridBagLayout());
-		myValuesPanel.add(new JBScrollPane(valuesPanelComponent)
+		JBScrollPane scrollPane = new JBScrollPane(valuesPanelComponent)
 		{
 			@Override
 			public void updateUI()
@@ -337,7 +403,17 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 				super.updateUI();
 				getViewport().setBackground(UIUtil.getPanelBackground());
 			}
-		}, VALUES);
+		};
+		myValuesViewport = scrollPane.getViewport();
+		myValuesViewport.addChangeListener(new ChangeListener()
+		{
+			@Override
+			public void stateChanged(ChangeEvent e)
+			{
+				updateVisibleEditors();
+			}
+		});
+		myValuesPanel.add(scrollPane, VALUES);
 		myValuesPanel.add(myNoPropertySelectedPanel, NO_PROPERTY_SELECTED);
 
 		List<PropertiesFile> propertiesFiles = myResourceBundle.getPropertiesFiles(myProject);
@@ -345,24 +421,10 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 		GridBagConstraints gc = new GridBagConstraints(0, 0, 0, 0, 0, 0, GridBagConstraints.NORTHWEST, GridBagConstraints.BOTH, new Insets(5, 5, 5, 5), 0, 0);
 		releaseAllEditors();
 		myTitledPanels.clear();
+		myOffscreenSince.clear();
 		int y = 0;
 		for(final PropertiesFile propertiesFile : propertiesFiles)
 		{
-			final Editor editor = createEditor();
-			final Editor oldEditor = myEditors.put(propertiesFile, editor);
-			if(oldEditor != null)
-			{
-				EditorFactory.getInstance().releaseEditor(oldEditor);
-			}
-
-			editor.getContentComponent().addFocusListener(new FocusAdapter()
-			{
-				@Override
-				public void focusGained(FocusEvent e)
-				{
-					mySelectedEditor = editor;
-				}
-			});
 			gc.gridx = 0;
 			gc.gridy = y++;
 			gc.gridheight = 1;
@@ -371,36 +433,16 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			gc.weighty = 1;
 			gc.anchor = GridBagConstraints.CENTER;
 
-			Locale locale = propertiesFile.getLocale();
-			List<String> names = new ArrayList<String>();
-			if(!Comparing.strEqual(locale.getDisplayLanguage(), null))
-			{
-				names.add(locale.getDisplayLanguage());
-			}
-			if(!Comparing.strEqual(locale.getDisplayCountry(), null))
-			{
-				names.add(locale.getDisplayCountry());
-			}
-			if(!Comparing.strEqual(locale.getDisplayVariant(), null))
-			{
-				names.add(locale.getDisplayVariant());
-			}
-
-			String title = propertiesFile.getName();
-			if(!names.isEmpty())
-			{
-				title += " (" + StringUtil.join(names, "/") + ")";
-			}
+			String title = getTitle(propertiesFile);
 			JComponent comp = new JPanel(new BorderLayout())
 			{
 				@Override
 				public Dimension getPreferredSize()
 				{
 					Insets insets = getBorder().getBorderInsets(this);
-					return new Dimension(100, editor.getLineHeight() * 4 + insets.top + insets.bottom);
+					return new Dimension(100, myLineHeight * 4 + insets.top + insets.bottom);
 				}
 			};
-			comp.add(editor.getComponent(), BorderLayout.CENTER);
 			comp.setBorder(IdeBorderFactory.createTitledBorder(title, true));
 			myTitledPanels.put(propertiesFile, (JPanel) comp);
 
@@ -415,7 +457,145 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 		gc.weighty = 1;
 
 		valuesPanelComponent.add(new JPanel(), gc);
+		// the first editor is on screen anyway and gives the line height for the sizes of all panels
+		if(!propertiesFiles.isEmpty())
+		{
+			createLocaleEditor(propertiesFiles.get(0));
+		}
 		myValuesPanel.repaint();
+		markAllFilesChanged();
+	}
+
+	private void createLocaleEditor(PropertiesFile propertiesFile)
+	{
+		final EditorEx editor = (EditorEx) createEditor();
+		myEditors.put(propertiesFile, editor);
+		if(myLineHeight < 0)
+		{
+			myLineHeight = editor.getLineHeight();
+		}
+		editor.getContentComponent().addFocusListener(new FocusAdapter()
+		{
+			@Override
+			public void focusGained(FocusEvent e)
+			{
+				mySelectedEditor = editor;
+			}
+		});
+		JPanel titledPanel = myTitledPanels.get(propertiesFile);
+		titledPanel.add(editor.getComponent(), BorderLayout.CENTER);
+		titledPanel.revalidate();
+		installDocumentListener(propertiesFile, editor);
+		// the value is filled in by the next update
+		markChanged(propertiesFile, null);
+	}
+
+	private void updateVisibleEditors()
+	{
+		if(!isValid() || myValuesViewport == null)
+		{
+			return;
+		}
+		// the titled panels are children of the viewport view, so their bounds are in view coordinates
+		Rectangle visibleRect = myValuesViewport.getViewRect();
+		long now = System.currentTimeMillis();
+		for(Map.Entry<PropertiesFile, JPanel> entry : myTitledPanels.entrySet())
+		{
+			PropertiesFile propertiesFile = entry.getKey();
+			if(entry.getValue().getBounds().intersects(visibleRect))
+			{
+				myOffscreenSince.remove(propertiesFile);
+				if(!myEditors.containsKey(propertiesFile))
+				{
+					createLocaleEditor(propertiesFile);
+				}
+			}
+			else if(myEditors.containsKey(propertiesFile) && !myOffscreenSince.containsKey(propertiesFile))
+			{
+				myOffscreenSince.put(propertiesFile, now);
+				if(myReleaseEditorsAlarm.getActiveRequestCount() == 0)
+				{
+					myReleaseEditorsAlarm.addRequest(new Runnable()
+					{
+						@Override
+						public void run()
+						{
+							releaseOffscreenEditors();
+						}
+					}, OFFSCREEN_EDITOR_RELEASE_DELAY);
+				}
+			}
+		}
+	}
+
+	private void releaseOffscreenEditors()
+	{
+		if(!isValid())
+		{
+			return;
+		}
+		long now = System.currentTimeMillis();
+		boolean pending = false;
+		for(Iterator<Map.Entry<PropertiesFile, Long>> iterator = myOffscreenSince.entrySet().iterator(); iterator.hasNext(); )
+		{
+			Map.Entry<PropertiesFile, Long> entry = iterator.next();
+			Editor editor = myEditors.get(entry.getKey());
+			if(editor == null || editor == mySelectedEditor)
+			{
+				iterator.remove();
+			}
+			else if(now - entry.getValue() >= OFFSCREEN_EDITOR_RELEASE_DELAY)
+			{
+				iterator.remove();
+				myEditors.remove(entry.getKey());
+				JPanel titledPanel = myTitledPanels.get(entry.getKey());
+				if(titledPanel != null)
+				{
+					titledPanel.remove(editor.getComponent());
+				}
+				releaseEditor(editor);
+			}
+			else
+			{
+				pending = true;
+			}
+		}
+		if(pending)
+		{
+			myReleaseEditorsAlarm.addRequest(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					releaseOffscreenEditors();
+				}
+			}, OFFSCREEN_EDITOR_RELEASE_DELAY);
+		}
+	}
+
+	static String getTitle(PropertiesFile propertiesFile)
+	{
+		Locale locale = propertiesFile.getLocale();
+		List<String> names = new ArrayList<String>();
+		if(!Comparing.strEqual(locale.getDisplayLanguage(), null))
+		{
+			names.add(locale.getDisplayLanguage());
+		}
+		if(!Comparing.strEqual(locale.getDisplayCountry(), null))
+		{
+			names.add(locale.getDisplayCountry());
+		}
+		if(!Comparing.strEqual(locale.getDisplayVariant(), null))
+		{
+			names.add(locale.getDisplayVariant());
+		}
+
+		String title = propertiesFile.getName();
+		if(!names.isEmpty())
+		{
+			title += " (" + StringUtil.join(names, "/") + ")";
+		}
+		return title;
 	}
 
 	private void installPropertiesChangeListeners()
@@ -440,7 +620,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			@Override
 			public void fileDeleted(VirtualFileEvent event)
 			{
-				for(PropertiesFile file : myEditors.keySet())
+				for(PropertiesFile file : myTitledPanels.keySet())
 				{
 					if(Comparing.equal(file.getVirtualFile(), event.getFile()))
 					{
@@ -461,7 +641,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 					}
 					else
 					{
-						updateEditorsFromProperties();
+						markAllFilesChanged();
 					}
 				}
 			}
@@ -507,12 +687,67 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 				{
 					return;
 				}
-				updateEditorsFromProperties();
+				markChanged(propertiesFile, getChangedKeys(event));
 			}
 		};
 		PsiManager.getInstance(myProject).addPsiTreeChangeListener(psiTreeChangeAdapter, this);
 	}
 
+	/**
+	 * @return keys of the properties whose value or presence is affected by the event, or null if any key of the file may be affected
+	 */
+	@Nullable
+	private static Set<String> getChangedKeys(PsiTreeChangeEvent event)
+	{
+		PsiElement[] children = {event.getChild(), event.getOldChild(), event.getNewChild()};
+		Property property = PsiTreeUtil.getParentOfType(event.getParent(), Property.class, false);
+		if(property != null)
+		{
+			// editing a key changes the old key too, and that one is not known anymore
+			if(isKeyElement(event.getParent()))
+			{
+				return null;
+			}
+			for(PsiElement child : children)
+			{
+				if(isKeyElement(child))
+				{
+					return null;
+				}
+			}
+			String key = property.getUnescapedKey();
+			return key == null ? null : Collections.singleton(key);
+		}
+
+		Set<String> keys = new HashSet<String>();
+		boolean hasChildren = false;
+		for(PsiElement child : children)
+		{
+			if(child instanceof Property)
+			{
+				String key = ((Property) child).getUnescapedKey();
+				if(key == null)
+				{
+					return null;
+				}
+				keys.add(key);
+			}
+			else if(child != null && !(child instanceof PsiWhiteSpace) && !(child instanceof PsiComment))
+			{
+				return null;
+			}
+			hasChildren |= child != null;
+		}
+		// no children means some unknown part of the file changed
+		return hasChildren ? keys : null;
+	}
+
+	private static boolean isKeyElement(@Nullable PsiElement element)
+	{
+		ASTNode node = element == null ? null : element.getNode();
+		return node != null && node.getElementType() == PropertiesTokenTypes.KEY_CHARACTERS;
+	}
+
 	private void selectionChanged()
 	{
 		myBackSlashPressed.clear();
@@ -521,14 +756,50 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			@Override
 			public void run()
 			{
-				updateEditorsFromProperties();
+				markAllFilesChanged();
 			}
 		});
 	}
 
-	private void updateEditorsFromProperties()
+	private void markAllFilesChanged()
 	{
-		myUpdateEditorAlarm.cancelAllRequests();
+		myAllFilesChanged = true;
+		scheduleEditorsUpdate();
+	}
+
+	private void markChanged(PropertiesFile propertiesFile, @Nullable Set<String> keys)
+	{
+		if(myAllFilesChanged)
+		{
+			return;
+		}
+		Set<String> changedKeys = myChangedKeys.get(propertiesFile);
+		if(changedKeys == null)
+		{
+			changedKeys = new HashSet<String>();
+			myChangedKeys.put(propertiesFile, changedKeys);
+		}
+		if(keys == null)
+		{
+			changedKeys.add(null);
+		}
+		else
+		{
+			changedKeys.addAll(keys);
+		}
+		scheduleEditorsUpdate();
+	}
+
+	/**
+	 * Changes reported until the update runs on the next pass of the event queue are applied as one batch.
+	 */
+	private void scheduleEditorsUpdate()
+	{
+		if(myEditorsUpdateScheduled)
+		{
+			return;
+		}
+		myEditorsUpdateScheduled = true;
 		myUpdateEditorAlarm.addRequest(new Runnable()
 		{
 			@Override
@@ -541,78 +812,113 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 				// there is pending update which is going to change prop file anyway
 				if(myUpdatePsiAlarm.getActiveRequestCount() != 0)
 				{
-					myUpdateEditorAlarm.cancelAllRequests();
 					myUpdateEditorAlarm.addRequest(this, 200);
 					return;
 				}
-				uninstallDocumentListeners();
-				try
+				myEditorsUpdateScheduled = false;
+				updateChangedEditors();
+			}
+		}, 0);
+	}
+
+	private void updateChangedEditors()
+	{
+		boolean allFilesChanged = myAllFilesChanged;
+		Map<PropertiesFile, Set<String>> changedKeys = new HashMap<PropertiesFile, Set<String>>(myChangedKeys);
+		myAllFilesChanged = false;
+		myChangedKeys.clear();
+
+		String propertyName = getSelectedPropertyName();
+		((CardLayout) myValuesPanel.getLayout()).show(myValuesPanel, propertyName == null ? NO_PROPERTY_SELECTED : VALUES);
+		if(propertyName == null)
+		{
+			return;
+		}
+
+		final Map<PropertiesFile, String> newValues = new LinkedHashMap<PropertiesFile, String>();
+		for(PropertiesFile propertiesFile : myResourceBundle.getPropertiesFiles(myProject))
+		{
+			if(!allFilesChanged)
+			{
+				Set<String> keys = changedKeys.get(propertiesFile);
+				if(keys == null || !keys.contains(null) && !keys.contains(propertyName))
 				{
-					String propertyName = getSelectedPropertyName();
-					((CardLayout) myValuesPanel.getLayout()).show(myValuesPanel, propertyName == null ? NO_PROPERTY_SELECTED : VALUES);
-					if(propertyName == null)
-					{
-						return;
-					}
+					continue;
+				}
+			}
+			JPanel titledPanel = myTitledPanels.get(propertiesFile);
+			if(titledPanel == null)
+			{
+				continue;
+			}
+			IProperty property = propertiesFile.findPropertyByKey(propertyName);
+			TitledBorder border = (TitledBorder) titledPanel.getBorder();
+			Color titleColor = property == null ? JBColor.RED : UIUtil.getLabelTextForeground();
+			if(!titleColor.equals(border.getTitleColor()))
+			{
+				border.setTitleColor(titleColor);
+				titledPanel.repaint();
+			}
 
-					List<PropertiesFile> propertiesFiles = myResourceBundle.getPropertiesFiles(myProject);
-					for(final PropertiesFile propertiesFile : propertiesFiles)
+			EditorEx editor = (EditorEx) myEditors.get(propertiesFile);
+			// offscreen, the editor gets the value when it is created
+			if(editor == null)
+			{
+				continue;
+			}
+			if(allFilesChanged)
+			{
+				reinitSettings(editor);
+			}
+			final String value;
+			if(property == null)
+			{
+				value = "";
+			}
+			else
+			{
+				String rawValue = property.getValue();
+				value = rawValue == null ? "" : ResourceBundleUtil.fromPropertyValueToValueEditor(rawValue);
+			}
+			String text = myBackSlashPressed.contains(propertiesFile) ? value + "\\" : value;
+			if(!StringUtil.equals(editor.getDocument().getCharsSequence(), text))
+			{
+				newValues.put(propertiesFile, text);
+			}
+		}
+		if(newValues.isEmpty())
+		{
+			return;
+		}
+
+		uninstallDocumentListeners();
+		try
+		{
+			// one command and write action for the whole batch
+			CommandProcessor.getInstance().executeCommand(null, new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					ApplicationManager.getApplication().runWriteAction(new Runnable()
 					{
-						EditorEx editor = (EditorEx) myEditors.get(propertiesFile);
-						if(editor == null)
-						{
-							continue;
-						}
-						reinitSettings(editor);
-						IProperty property = propertiesFile.findPropertyByKey(propertyName);
-						final String value;
-						if(property == null)
+						@Override
+						public void run()
 						{
-							value = "";
-						}
-						else
-						{
-							String rawValue = property.getValue();
-							value = rawValue == null ? "" : ResourceBundleUtil.fromPropertyValueToValueEditor(rawValue);
-						}
-						final Document document = editor.getDocument();
-						CommandProcessor.getInstance().executeCommand(null, new Runnable()
-						{
-							@Override
-							public void run()
+							for(Map.Entry<PropertiesFile, String> entry : newValues.entrySet())
 							{
-								ApplicationManager.getApplication().runWriteAction(new Runnable()
-								{
-									@Override
-									public void run()
-									{
-										updateDocumentFromPropertyValue(value, document, propertiesFile);
-									}
-								});
+								Document document = myEditors.get(entry.getKey()).getDocument();
+								document.replaceString(0, document.getTextLength(), entry.getValue());
 							}
-						}, "", this);
-
-						JPanel titledPanel = myTitledPanels.get(propertiesFile);
-						((TitledBorder) titledPanel.getBorder()).setTitleColor(property == null ? JBColor.RED : UIUtil.getLabelTextForeground());
-						titledPanel.repaint();
-					}
-				}
-				finally
-				{
-					installDocumentListeners();
+						}
+					});
 				}
-			}
-		}, 200);
-	}
-
-	private void updateDocumentFromPropertyValue(final String value, final Document document, final PropertiesFile propertiesFile)
-	{
-		String text = value;
-		if(myBackSlashPressed.contains(propertiesFile))
+			}, "", this);
+		}
+		finally
 		{
-			text += "\\";
+			installDocumentListeners();
 		}
-		document.replaceString(0, document.getTextLength(), text);
 	}
 
 	private void updatePropertyValueFromDocument(final String propertyName, final PropertiesFile propertiesFile, final String text)
@@ -653,27 +959,36 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			{
 				continue;
 			}
-			DocumentAdapter listener = new DocumentAdapter()
-			{
-				private String oldText;
-
-				@Override
-				public void beforeDocumentChange(DocumentEvent e)
-				{
-					oldText = e.getDocument().getText();
-				}
+			installDocumentListener(propertiesFile, editor);
+		}
+	}
 
-				@Override
-				public void documentChanged(DocumentEvent e)
-				{
-					Document document = e.getDocument();
-					String text = document.getText();
-					updatePropertyValueFor(document, propertiesFile, text, oldText);
-				}
-			};
-			myDocumentListeners.put(editor, listener);
-			editor.getDocument().addDocumentListener(listener);
+	private void installDocumentListener(final PropertiesFile propertiesFile, Editor editor)
+	{
+		if(myDocumentListeners.containsKey(editor))
+		{
+			return;
 		}
+		DocumentAdapter listener = new DocumentAdapter()
+		{
+			private String oldText;
+
+			@Override
+			public void beforeDocumentChange(DocumentEvent e)
+			{
+				oldText = e.getDocument().getText();
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent e)
+			{
+				Document document = e.getDocument();
+				String text = document.getText();
+				updatePropertyValueFor(document, propertiesFile, text, oldText);
+			}
+		};
+		myDocumentListeners.put(editor, listener);
+		editor.getDocument().addDocumentListener(listener);
 	}
 
 	private void uninstallDocumentListeners()
@@ -938,6 +1253,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 			releaseEditor(editor);
 		}
 		myEditors.clear();
+		mySelectedEditor = null;
 	}
 
 	private void releaseEditor(Editor editor)
@@ -1050,8 +1366,7 @@ public class ResourceBundleEditor extends UserDataHolderBase implements FileEdit
 		@Override
 		public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction)
 		{
-			Editor editor = myEditors.values().iterator().next();
-			return editor.getLineHeight() * 4;
+			return myLineHeight * 4;
 		}
 
 		@Override
@@ -61,22 +61,21 @@ public class ResourceBundleEditorProvider implements FileEditorProvider, DumbAwa
 	@Override
 	public FileEditor createEditor(Project project, final VirtualFile file)
 	{
-		ResourceBundle resourceBundle;
+		return new ResourceBundleEditor(project, getResourceBundle(project, file));
+	}
+
+	static ResourceBundle getResourceBundle(Project project, VirtualFile file)
+	{
 		if(file instanceof ResourceBundleAsVirtualFile)
 		{
-			resourceBundle = ((ResourceBundleAsVirtualFile) file).getResourceBundle();
+			return ((ResourceBundleAsVirtualFile) file).getResourceBundle();
 		}
-		else
+		PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+		if(psiFile == null)
 		{
-			PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
-			if(psiFile == null)
-			{
-				throw new IllegalArgumentException("psifile cannot be null");
-			}
-			resourceBundle = PropertiesUtil.getPropertiesFile(psiFile).getResourceBundle();
+			throw new IllegalArgumentException("psifile cannot be null");
 		}
-
-		return new ResourceBundleEditor(project, resourceBundle);
+		return PropertiesUtil.getPropertiesFile(psiFile).getResourceBundle();
 	}
 
 	@Override
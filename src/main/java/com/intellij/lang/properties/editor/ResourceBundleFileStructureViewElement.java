@@ -20,23 +20,31 @@
 package com.intellij.lang.properties.editor;
 
 import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.PropertiesReferenceManager;
 import com.intellij.lang.properties.ResourceBundle;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import consulo.application.AllIcons;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
 import consulo.fileEditor.structureView.StructureViewTreeElement;
+import consulo.language.psi.PsiFile;
 import consulo.navigation.ItemPresentation;
 import consulo.project.Project;
 import consulo.ui.image.Image;
+import consulo.util.collection.ArrayUtil;
+import consulo.util.dataholder.Key;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public class ResourceBundleFileStructureViewElement implements StructureViewTreeElement
 {
+  private static final Key<CachedValue<String[]>> KEYS_KEY = Key.create("resource.bundle.structure.keys");
+
   private final Project myProject;
   private final ResourceBundle myResourceBundle;
+  private String[] myChildrenKeys;
+  private StructureViewTreeElement[] myChildren = EMPTY_ARRAY;
 
   public ResourceBundleFileStructureViewElement(final Project project, final ResourceBundle resourceBundle) {
     myProject = project;
@@ -47,24 +55,53 @@ public class ResourceBundleFileStructureViewElement implements StructureViewTree
     return myResourceBundle;
   }
 
-  public StructureViewTreeElement[] getChildren() {
-    List<PropertiesFile> propertiesFiles = myResourceBundle.getPropertiesFiles(myProject);
-    Map<String, IProperty> propertyNames = new LinkedHashMap<String, IProperty>();
-    for (PropertiesFile propertiesFile : propertiesFiles) {
-      List<IProperty> properties = propertiesFile.getProperties();
-      for (IProperty property : properties) {
-        String name = property.getUnescapedKey();
-        if (!propertyNames.containsKey(name)) {
-          propertyNames.put(name, property);
+  public synchronized StructureViewTreeElement[] getChildren() {
+    String[] keys = getKeys(myProject, myResourceBundle);
+    // the key index is cached until the bundle changes, the elements are kept as long as their key is there
+    if (keys != myChildrenKeys) {
+      Map<String, ResourceBundlePropertyStructureViewElement> previous = new HashMap<String, ResourceBundlePropertyStructureViewElement>();
+      for (StructureViewTreeElement child : myChildren) {
+        ResourceBundlePropertyStructureViewElement element = (ResourceBundlePropertyStructureViewElement)child;
+        previous.put(element.getValue(), element);
+      }
+      StructureViewTreeElement[] children = new StructureViewTreeElement[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        ResourceBundlePropertyStructureViewElement element = previous.get(keys[i]);
+        if (element == null) {
+          element = new ResourceBundlePropertyStructureViewElement(myProject, myResourceBundle, keys[i]);
         }
+        else {
+          element.setPresentableName(null);
+        }
+        children[i] = element;
       }
+      myChildrenKeys = keys;
+      myChildren = children;
     }
-    List<StructureViewTreeElement> result = new ArrayList<StructureViewTreeElement>(propertyNames.size());
-    for (String property : propertyNames.keySet()) {
-      //result.add(new PropertiesStructureViewElement(property));
-      result.add(new ResourceBundlePropertyStructureViewElement(myProject, myResourceBundle, property));
+    return myChildren;
+  }
+
+  /**
+   * @return unescaped keys of all properties files of the bundle, in the order they are first met
+   */
+  static String[] getKeys(final Project project, final ResourceBundle resourceBundle) {
+    final List<PropertiesFile> propertiesFiles = resourceBundle.getPropertiesFiles(project);
+    if (propertiesFiles.isEmpty()) {
+      return ArrayUtil.EMPTY_STRING_ARRAY;
     }
-    return result.toArray(new StructureViewTreeElement[result.size()]);
+    PsiFile defaultFile = resourceBundle.getDefaultPropertiesFile(project).getContainingFile();
+    return CachedValuesManager.getManager(project).getCachedValue(defaultFile, KEYS_KEY, () -> {
+      Set<String> propertyNames = new LinkedHashSet<String>();
+      List<Object> dependencies = new ArrayList<Object>(propertiesFiles.size() + 1);
+      for (PropertiesFile propertiesFile : propertiesFiles) {
+        for (IProperty property : propertiesFile.getProperties()) {
+          propertyNames.add(property.getUnescapedKey());
+        }
+        dependencies.add(propertiesFile.getContainingFile());
+      }
+      dependencies.add(PropertiesReferenceManager.getInstance(project).getPropertiesFilesModificationTracker());
+      return CachedValueProvider.Result.create(ArrayUtil.toStringArray(propertyNames), dependencies.toArray());
+    }, false);
   }
 
   public ItemPresentation getPresentation() {
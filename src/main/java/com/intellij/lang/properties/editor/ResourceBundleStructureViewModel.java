@@ -34,10 +34,12 @@ public class ResourceBundleStructureViewModel implements PropertiesGroupingStruc
   private final Project myProject;
   private final ResourceBundle myResourceBundle;
   private final GroupByWordPrefixes myGroupByWordPrefixes;
+  private final ResourceBundleFileStructureViewElement myRoot;
 
   public ResourceBundleStructureViewModel(final Project project, ResourceBundle root) {
     myProject = project;
     myResourceBundle = root;
+    myRoot = new ResourceBundleFileStructureViewElement(project, root);
     String separator = PropertiesSeparatorManager.getInstance().getSeparator(project, new ResourceBundleAsVirtualFile(myResourceBundle));
     myGroupByWordPrefixes = new GroupByWordPrefixes(separator);
   }
@@ -52,7 +54,8 @@ public class ResourceBundleStructureViewModel implements PropertiesGroupingStruc
   }
 
   public StructureViewTreeElement getRoot() {
-    return new ResourceBundleFileStructureViewElement(myProject, myResourceBundle);
+    // keeps its children between rebuilds
+    return myRoot;
   }
 
   public Grouper[] getGroupers() {
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import com.intellij.lang.properties.PropertiesUtil;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import consulo.fileEditor.FileEditor;
+import consulo.fileEditor.FileEditorLocation;
+import consulo.fileEditor.FileEditorState;
+import consulo.fileEditor.FileEditorStateLevel;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.event.PsiTreeChangeAdapter;
+import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.project.Project;
+import consulo.properties.localize.PropertiesLocalize;
+import consulo.ui.ex.JBColor;
+import consulo.ui.ex.awt.JBScrollPane;
+import consulo.ui.ex.awt.table.JBTable;
+import consulo.ui.ex.awt.util.Alarm;
+import consulo.util.dataholder.UserDataHolderBase;
+import kava.beans.PropertyChangeListener;
+import org.jspecify.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Key &times; locale table view of a resource bundle.
+ * <p>
+ * Unlike {@link ResourceBundleEditor}, which creates an editor per properties file, the table paints only the visible
+ * cells straight from the bundle and creates an editing component only for the cell being edited,
+ * so its cost does not grow with the number of locales.
+ */
+public class ResourceBundleTableEditor extends UserDataHolderBase implements FileEditor
+{
+	private static final Color MISSING_VALUE_BACKGROUND = new JBColor(new Color(0xFFE4E4), new Color(0x4D3333));
+
+	private final Project myProject;
+	private final ResourceBundle myResourceBundle;
+	private final ResourceBundleTableModel myModel;
+	private final JBTable myTable;
+	private final JComponent myComponent;
+	private final Alarm myReloadAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+	// files changed since the last reload, only their columns are refreshed
+	private final Set<PropertiesFile> myChangedFiles = new LinkedHashSet<PropertiesFile>();
+	private boolean myDisposed;
+
+	public ResourceBundleTableEditor(Project project, ResourceBundle resourceBundle)
+	{
+		myProject = project;
+		myResourceBundle = resourceBundle;
+		myModel = new ResourceBundleTableModel(project, resourceBundle);
+		myTable = new JBTable(myModel)
+		{
+			@Override
+			public void editingStopped(ChangeEvent e)
+			{
+				super.editingStopped(e);
+				reloadPendingFiles();
+			}
+
+			@Override
+			public void editingCanceled(ChangeEvent e)
+			{
+				super.editingCanceled(e);
+				reloadPendingFiles();
+			}
+		};
+		myTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		myTable.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+		myTable.setDefaultRenderer(Object.class, new DefaultTableCellRenderer()
+		{
+			@Override
+			public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column)
+			{
+				Component component = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+				if(value == null && !isSelected)
+				{
+					component.setBackground(MISSING_VALUE_BACKGROUND);
+				}
+				else if(!isSelected)
+				{
+					component.setBackground(table.getBackground());
+				}
+				return component;
+			}
+		});
+		myComponent = new JBScrollPane(myTable);
+
+		PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter()
+		{
+			@Override
+			public void childAdded(PsiTreeChangeEvent event)
+			{
+				childrenChanged(event);
+			}
+
+			@Override
+			public void childRemoved(PsiTreeChangeEvent event)
+			{
+				childrenChanged(event);
+			}
+
+			@Override
+			public void childReplaced(PsiTreeChangeEvent event)
+			{
+				childrenChanged(event);
+			}
+
+			@Override
+			public void childMoved(PsiTreeChangeEvent event)
+			{
+				childrenChanged(event);
+			}
+
+			@Override
+			public void childrenChanged(PsiTreeChangeEvent event)
+			{
+				PropertiesFile propertiesFile = PropertiesUtil.getPropertiesFile(event.getFile());
+				if(propertiesFile != null && propertiesFile.getResourceBundle().equals(myResourceBundle))
+				{
+					myChangedFiles.add(propertiesFile);
+					scheduleReload();
+				}
+			}
+		}, this);
+	}
+
+	/**
+	 * Files changed while a cell was edited are kept until the editing is over.
+	 */
+	private void reloadPendingFiles()
+	{
+		if(!myChangedFiles.isEmpty())
+		{
+			scheduleReload();
+		}
+	}
+
+	private void scheduleReload()
+	{
+		myReloadAlarm.cancelAllRequests();
+		myReloadAlarm.addRequest(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				if(!isValid() || myTable.isEditing())
+				{
+					return;
+				}
+				String selectedKey = getSelectedKey();
+				for(PropertiesFile file : myChangedFiles)
+				{
+					myModel.reload(file);
+				}
+				myChangedFiles.clear();
+				selectKey(selectedKey);
+			}
+		}, 200);
+	}
+
+	@Nullable
+	private String getSelectedKey()
+	{
+		int row = myTable.getSelectedRow();
+		return row < 0 ? null : myModel.getKey(row);
+	}
+
+	private void selectKey(@Nullable String key)
+	{
+		int row = key == null ? -1 : myModel.getKeyRow(key);
+		if(row >= 0)
+		{
+			myTable.getSelectionModel().setSelectionInterval(row, row);
+			myTable.scrollRectToVisible(myTable.getCellRect(row, 0, true));
+		}
+	}
+
+	@Override
+	public JComponent getComponent()
+	{
+		return myComponent;
+	}
+
+	@Override
+	public JComponent getPreferredFocusedComponent()
+	{
+		return myTable;
+	}
+
+	@Override
+	public String getName()
+	{
+		return PropertiesLocalize.resourceBundleTableEditorName().get();
+	}
+
+	@Override
+	public FileEditorState getState(FileEditorStateLevel level)
+	{
+		return new ResourceBundleEditor.ResourceBundleEditorState(getSelectedKey());
+	}
+
+	@Override
+	public void setState(FileEditorState state)
+	{
+		selectKey(((ResourceBundleEditor.ResourceBundleEditorState) state).getPropertyName());
+	}
+
+	@Override
+	public boolean isModified()
+	{
+		return false;
+	}
+
+	@Override
+	public boolean isValid()
+	{
+		return !myDisposed && !myProject.isDisposed();
+	}
+
+	@Override
+	public void selectNotify()
+	{
+
+	}
+
+	@Override
+	public void deselectNotify()
+	{
+
+	}
+
+	@Override
+	public void addPropertyChangeListener(PropertyChangeListener listener)
+	{
+
+	}
+
+	@Override
+	public void removePropertyChangeListener(PropertyChangeListener listener)
+	{
+
+	}
+
+	@Override
+	public FileEditorLocation getCurrentLocation()
+	{
+		return null;
+	}
+
+	@Override
+	public void dispose()
+	{
+		myDisposed = true;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import consulo.annotation.component.ExtensionImpl;
+import consulo.fileEditor.FileEditor;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+
+/**
+ * Opens the {@link ResourceBundleTableEditor} next to the {@link ResourceBundleEditor} for the same files.
+ */
+@ExtensionImpl
+public class ResourceBundleTableEditorProvider extends ResourceBundleEditorProvider
+{
+	@Override
+	public FileEditor createEditor(Project project, VirtualFile file)
+	{
+		return new ResourceBundleTableEditor(project, getResourceBundle(project, file));
+	}
+
+	@Override
+	public String getEditorTypeId()
+	{
+		return "ResourceBundleTable";
+	}
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import consulo.application.ApplicationManager;
+import consulo.document.Document;
+import consulo.document.FileDocumentManager;
+import consulo.language.psi.PsiDocumentManager;
+import consulo.language.util.IncorrectOperationException;
+import consulo.logging.Logger;
+import consulo.project.Project;
+import consulo.properties.localize.PropertiesLocalize;
+import consulo.undoRedo.CommandProcessor;
+import org.jspecify.annotations.Nullable;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keys of a resource bundle as rows and its properties files as columns, the first column holds the key itself.
+ * Only the key list is stored, values are looked up when a cell is painted.
+ *
+ * @see ResourceBundleTableEditor
+ */
+public class ResourceBundleTableModel extends AbstractTableModel
+{
+	private static final Logger LOG = Logger.getInstance(ResourceBundleTableModel.class);
+
+	private final Project myProject;
+	private final ResourceBundle myResourceBundle;
+	private List<PropertiesFile> myFiles = new ArrayList<PropertiesFile>();
+	// unescaped keys of each file, the rows are their union
+	private List<Set<String>> myFileKeys = new ArrayList<Set<String>>();
+	private List<String> myKeys = new ArrayList<String>();
+
+	public ResourceBundleTableModel(Project project, ResourceBundle resourceBundle)
+	{
+		myProject = project;
+		myResourceBundle = resourceBundle;
+		reload();
+	}
+
+	public void reload()
+	{
+		List<PropertiesFile> files = myResourceBundle.getPropertiesFiles(myProject);
+		List<Set<String>> fileKeys = new ArrayList<Set<String>>(files.size());
+		for(PropertiesFile file : files)
+		{
+			fileKeys.add(collectKeys(file));
+		}
+		boolean structureChanged = !files.equals(myFiles);
+		myFiles = files;
+		myFileKeys = fileKeys;
+		myKeys = unionKeys();
+		if(structureChanged)
+		{
+			fireTableStructureChanged();
+		}
+		else
+		{
+			fireTableDataChanged();
+		}
+	}
+
+	/**
+	 * Re-reads the keys of one file. Only its column is repainted unless the set of rows changes.
+	 */
+	public void reload(PropertiesFile file)
+	{
+		int index = myFiles.indexOf(file);
+		if(index < 0 || !myResourceBundle.getPropertiesFiles(myProject).equals(myFiles))
+		{
+			reload();
+			return;
+		}
+		Set<String> keys = collectKeys(file);
+		if(!keys.equals(myFileKeys.get(index)))
+		{
+			myFileKeys.set(index, keys);
+			List<String> allKeys = unionKeys();
+			if(!allKeys.equals(myKeys))
+			{
+				myKeys = allKeys;
+				fireTableDataChanged();
+				return;
+			}
+		}
+		fireTableChanged(new TableModelEvent(this, 0, Integer.MAX_VALUE, index + 1));
+	}
+
+	private static Set<String> collectKeys(PropertiesFile file)
+	{
+		Set<String> keys = new HashSet<String>();
+		for(IProperty property : file.getProperties())
+		{
+			String key = property.getUnescapedKey();
+			if(key != null)
+			{
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+
+	private List<String> unionKeys()
+	{
+		Set<String> keys = new TreeSet<String>();
+		for(Set<String> fileKeys : myFileKeys)
+		{
+			keys.addAll(fileKeys);
+		}
+		return new ArrayList<String>(keys);
+	}
+
+	/**
+	 * @return row of the key, or a negative value if the bundle does not contain it
+	 */
+	public int getKeyRow(String key)
+	{
+		// the keys are sorted
+		return Collections.binarySearch(myKeys, key);
+	}
+
+	public String getKey(int row)
+	{
+		return myKeys.get(row);
+	}
+
+	@Override
+	public int getRowCount()
+	{
+		return myKeys.size();
+	}
+
+	@Override
+	public int getColumnCount()
+	{
+		return myFiles.size() + 1;
+	}
+
+	@Override
+	public String getColumnName(int column)
+	{
+		return column == 0 ? PropertiesLocalize.resourceBundleTableKeyColumnName().get() : ResourceBundleEditor.getTitle(myFiles.get(column - 1));
+	}
+
+	/**
+	 * @return value as shown in the resource bundle editor, or null if the file does not contain the key
+	 */
+	@Nullable
+	@Override
+	public Object getValueAt(int row, int column)
+	{
+		String key = myKeys.get(row);
+		if(column == 0)
+		{
+			return key;
+		}
+		IProperty property = myFiles.get(column - 1).findPropertyByKey(key);
+		if(property == null)
+		{
+			return null;
+		}
+		String value = property.getValue();
+		return value == null ? "" : ResourceBundleUtil.fromPropertyValueToValueEditor(value);
+	}
+
+	@Override
+	public boolean isCellEditable(int row, int column)
+	{
+		return column != 0;
+	}
+
+	@Override
+	public void setValueAt(Object value, int row, int column)
+	{
+		final String key = myKeys.get(row);
+		final PropertiesFile propertiesFile = myFiles.get(column - 1);
+		final String text = String.valueOf(value);
+		// addProperty and setValue escape the value themselves, the escaped form is only needed for the comparison
+		IProperty current = propertiesFile.findPropertyByKey(key);
+		if(current != null && ResourceBundleUtil.fromValueEditorToPropertyValue(text).equals(current.getValue()) || current == null && text.isEmpty())
+		{
+			return;
+		}
+		Document document = PsiDocumentManager.getInstance(myProject).getDocument(propertiesFile.getContainingFile());
+		if(document != null && !FileDocumentManager.getInstance().requestWriting(document, myProject))
+		{
+			return;
+		}
+		CommandProcessor.getInstance().executeCommand(myProject, new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				ApplicationManager.getApplication().runWriteAction(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						IProperty property = propertiesFile.findPropertyByKey(key);
+						// the rows hold unescaped keys, addProperty escapes the key as well
+						try
+						{
+							if(property == null)
+							{
+								propertiesFile.addProperty(key, text);
+							}
+							else
+							{
+								property.setValue(text);
+							}
+						}
+						catch(IncorrectOperationException e)
+						{
+							LOG.error(e);
+						}
+					}
+				});
+			}
+		}, "", null);
+		fireTableCellUpdated(row, column);
+	}
+}
@@ -42,13 +42,7 @@ import java.util.Properties;
  */
 public class ResourceBundleUtil {
 
-  //  SystemProperties.getBooleanProperty("idea.native2ascii.lowercase", false) ?"\\u%04x":"\\u%04X";
-  private static final String NATIVE_2_ASCII_CONVERSION_PATTERN = "\\u%04X";
-
   private static final IntSet SYMBOLS_TO_ESCAPE = IntSets.newHashSet(new int[]{'#', '!', '=', ':'});
-  private static final IntSet UNICODE_SYMBOLS   = IntSets.newHashSet(new int[]{
-    '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'A', 'a', 'A', 'b', 'B', 'c', 'C', 'd', 'D', 'e', 'E', 'f', 'F'
-  });
   private static final char        ESCAPE_SYMBOL     = '\\';
 
   private ResourceBundleUtil() {
@@ -119,14 +113,15 @@ public class ResourceBundleUtil {
    */
   @SuppressWarnings("AssignmentToForLoopParameter")
   public static String fromPropertyValueToValueEditor(String text) {
-    StringBuilder buffer = new StringBuilder();
+    // unescaping never makes the text longer
+    StringBuilder buffer = new StringBuilder(text.length());
     boolean escaped = false;
     for (int i = 0; i < text.length(); i++) {
       char c = text.charAt(i);
       if (c == ESCAPE_SYMBOL && !escaped) {
-        char[] unicodeSymbols = parseUnicodeLiteral(text, i + 1);
-        if (unicodeSymbols != null) {
-          buffer.append(unicodeSymbols);
+        int unicodeSymbol = Native2AsciiCodec.parseEscape(text, i + 1);
+        if (unicodeSymbol >= 0) {
+          buffer.append((char)unicodeSymbol);
           i += 5;
         }
         else {
@@ -143,45 +138,6 @@ public class ResourceBundleUtil {
     return buffer.toString();
   }
 
-  /**
-   * Tries to parse unicode literal contained at the given text at the given offset:
-   * <pre>
-   *   "my string to process \uABCD - with unicode literal"
-   *                          ^
-   *                          |
-   *                       offset
-   * </pre>
-   * I.e. this method checks if given text contains u[0123456789AaBbCcDdEeFf]{4} at the given offset; parses target unicode symbol
-   * and returns in case of the positive answer.
-   * 
-   * @param text  text to process
-   * @param i     offset which might point to 'u' part of unicode literal contained at the given text
-   * @return      16-bit char symbols for the target unicode code point located at the given text at the given offset if any;
-   *              <code>null</code> otherwise
-   */
-  @Nullable
-  private static char[] parseUnicodeLiteral(String text, int i) {
-    if (text.length() < i + 5) {
-      return null;
-    }
-    char c = text.charAt(i);
-    if (c != 'u' && c != 'U') {
-      return null;
-    }
-    for (int j = i + 1; j < i + 5; j++) {
-      if (!UNICODE_SYMBOLS.contains(text.charAt(j))) {
-        return null;
-      }
-    }
-    try {
-      int codePoint = Integer.parseInt(text.substring(i + 1, i + 5), 16);
-      return Character.toChars(codePoint);
-    }
-    catch (IllegalArgumentException e) {
-      return null;
-    }
-  }
-
   /**
    * Perform reverse operation to {@link #fromPropertyValueToValueEditor(String)}.
    * 
@@ -189,7 +145,14 @@ public class ResourceBundleUtil {
    * @return      'raw' value to store at the *.properties file
    */
   public static String fromValueEditorToPropertyValue(String text) {
-    StringBuilder buffer = new StringBuilder();
+    // every non-ascii char grows to a six char escape, e.g. for CJK text, the rest rarely needs escaping
+    int escapes = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (Native2AsciiCodec.needsEscape(text.charAt(i))) {
+        escapes++;
+      }
+    }
+    StringBuilder buffer = new StringBuilder(text.length() + escapes * 5 + 16);
     for (int i = 0; i < text.length(); i++) {
       char c = text.charAt(i);
       
@@ -209,8 +172,8 @@ public class ResourceBundleUtil {
           buffer.append(ESCAPE_SYMBOL);
         }
       }
-      else if (c > 127) { // Non-ascii symbol
-        buffer.append(String.format(NATIVE_2_ASCII_CONVERSION_PATTERN, (int)c));
+      else if (Native2AsciiCodec.needsEscape(c)) { // Non-ascii symbol, the surrogates of a pair are escaped one by one
+        Native2AsciiCodec.appendEscape(buffer, c);
         continue;
       }
       buffer.append(c);
@@ -52,15 +52,9 @@ public class EnterInPropertiesFileHandler extends EnterHandlerDelegateAdapter
 													final PsiElement psiAtOffset,
 													int caretOffset)
 	{
-		String text = document.getText();
-		String line = text.substring(0, caretOffset);
-		int i = line.lastIndexOf('\n');
-		if(i > 0)
-		{
-			line = line.substring(i);
-		}
+		CharSequence text = document.getImmutableCharSequence();
 		final String toInsert;
-		if(PropertiesUtil.isUnescapedBackSlashAtTheEnd(line))
+		if(PropertiesUtil.isUnescapedBackSlashAtTheEnd(text, caretOffset))
 		{
 			toInsert = "\n  ";
 		}
@@ -72,7 +66,7 @@ public class EnterInPropertiesFileHandler extends EnterHandlerDelegateAdapter
 			{
 				toInsert = "\\\n  ";
 			}
-			else if(elementType == PropertiesTokenTypes.END_OF_LINE_COMMENT && "#!".indexOf(document.getText().charAt(caretOffset)) == -1)
+			else if(elementType == PropertiesTokenTypes.END_OF_LINE_COMMENT && (caretOffset == text.length() || "#!".indexOf(text.charAt(caretOffset)) == -1))
 			{
 				toInsert = "\n#";
 			}
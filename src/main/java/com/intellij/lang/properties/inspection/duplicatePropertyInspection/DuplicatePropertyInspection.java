@@ -19,14 +19,13 @@ import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.PropertiesBundle;
 import com.intellij.lang.properties.PropertiesLanguage;
 import com.intellij.lang.properties.psi.PropertiesFile;
-import com.intellij.lang.properties.psi.Property;
+import com.intellij.lang.properties.psi.PropertyKeyIndex;
+import com.intellij.lang.properties.psi.PropertyValueIndex;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ExtensionImpl;
 import consulo.application.progress.ProgressIndicator;
 import consulo.application.progress.ProgressManager;
-import consulo.application.util.StringSearcher;
 import consulo.application.util.concurrent.JobLauncher;
-import consulo.application.util.function.CommonProcessors;
 import consulo.component.ProcessCanceledException;
 import consulo.document.Document;
 import consulo.document.FileDocumentManager;
@@ -38,15 +37,16 @@ import consulo.language.editor.inspection.scheme.InspectionManager;
 import consulo.language.editor.rawHighlight.HighlightDisplayLevel;
 import consulo.language.psi.PsiElement;
 import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
 import consulo.language.psi.scope.GlobalSearchScope;
-import consulo.language.psi.search.LowLevelSearchUtil;
-import consulo.language.psi.search.PsiSearchHelper;
+import consulo.language.psi.stub.FileBasedIndex;
 import consulo.localize.LocalizeValue;
 import consulo.logging.Logger;
 import consulo.module.Module;
+import consulo.project.Project;
 import consulo.properties.localize.PropertiesLocalize;
+import consulo.util.collection.SmartList;
 import consulo.util.lang.CharArrayUtil;
-import consulo.util.lang.Comparing;
 import consulo.util.lang.StringUtil;
 import consulo.virtualFileSystem.VirtualFile;
 
@@ -55,6 +55,7 @@ import org.jspecify.annotations.Nullable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ExtensionImpl
 public class DuplicatePropertyInspection extends GlobalSimpleInspectionTool {
@@ -180,7 +181,6 @@ public class DuplicatePropertyInspection extends GlobalSimpleInspectionTool {
         if (!context.isToCheckFile(file, this)) {
             return;
         }
-        final PsiSearchHelper searchHelper = PsiSearchHelper.getInstance(file.getProject());
         final List<IProperty> properties = propertiesFile.getProperties();
         Module module = file.getModule();
         if (module == null) {
@@ -193,8 +193,12 @@ public class DuplicatePropertyInspection extends GlobalSimpleInspectionTool {
             default -> throw new IllegalArgumentException(dupState.SCOPE.name());
         };
 
-        final Map<String, Set<PsiFile>> processedValueToFiles = Collections.synchronizedMap(new HashMap<String, Set<PsiFile>>());
-        final Map<String, Set<PsiFile>> processedKeyToFiles = Collections.synchronizedMap(new HashMap<String, Set<PsiFile>>());
+        final Project project = file.getProject();
+        final boolean checkKeys = dupState.CHECK_DUPLICATE_KEYS || dupState.CHECK_DUPLICATE_KEYS_WITH_DIFFERENT_VALUES;
+        final Map<String, Collection<IProperty>> keyToProperties = new ConcurrentHashMap<>();
+        final Map<String, List<PsiElement>> valueToElements = new ConcurrentHashMap<>();
+        // candidate files of different value groups overlap a lot, so each one is grouped by value only once
+        final Map<VirtualFile, Map<String, List<IProperty>>> fileValueGroups = new ConcurrentHashMap<>();
         ProgressManager progressManager = ProgressManager.getInstance();
 
         final ProgressIndicator original = progressManager.getProgressIndicator();
@@ -212,41 +216,26 @@ public class DuplicatePropertyInspection extends GlobalSimpleInspectionTool {
                             }
                             original.setText2(PropertiesLocalize.searchingForPropertyKeyProgressText(property.getUnescapedKey()));
                         }
-                        processTextUsages(processedValueToFiles, property.getValue(), processedKeyToFiles, searchHelper, scope);
-                        processTextUsages(processedKeyToFiles, property.getUnescapedKey(), processedValueToFiles,
-                            searchHelper, scope
-                        );
+                        String key = property.getUnescapedKey();
+                        if (checkKeys && key != null && !keyToProperties.containsKey(key)) {
+                            keyToProperties.putIfAbsent(key, new ArrayList<>(PropertyKeyIndex.getInstance().get(key, project, scope)));
+                        }
+                        String value = property.getValue();
+                        if (dupState.CHECK_DUPLICATE_VALUES && !StringUtil.isEmpty(value) && !valueToElements.containsKey(value)) {
+                            valueToElements.putIfAbsent(value, findValueElements(project, value, scope, fileValueGroups));
+                        }
                         return true;
                     }
                 )) {
                     throw new ProcessCanceledException();
                 }
 
-                List<ProblemDescriptor> problemDescriptors = new ArrayList<>();
-                Map<String, Set<String>> keyToDifferentValues = new HashMap<>();
-                if (dupState.CHECK_DUPLICATE_KEYS || dupState.CHECK_DUPLICATE_KEYS_WITH_DIFFERENT_VALUES) {
-                    prepareDuplicateKeysByFile(
-                        processedKeyToFiles,
-                        manager,
-                        keyToDifferentValues,
-                        problemDescriptors,
-                        file,
-                        original,
-                        dupState
-                    );
+                List<ProblemDescriptor> problemDescriptors = Collections.synchronizedList(new ArrayList<>());
+                if (checkKeys) {
+                    reportDuplicateKeys(keyToProperties, manager, problemDescriptors, file, progress, original, dupState);
                 }
                 if (dupState.CHECK_DUPLICATE_VALUES) {
-                    prepareDuplicateValuesByFile(processedValueToFiles, manager, problemDescriptors, file, original);
-                }
-                if (dupState.CHECK_DUPLICATE_KEYS_WITH_DIFFERENT_VALUES) {
-                    processDuplicateKeysWithDifferentValues(
-                        keyToDifferentValues,
-                        processedKeyToFiles,
-                        problemDescriptors,
-                        manager,
-                        file,
-                        original
-                    );
+                    reportDuplicateValues(valueToElements, manager, problemDescriptors, file, progress, original);
                 }
                 if (!problemDescriptors.isEmpty()) {
                     processor.addProblemElement(refManager.getReference(file), problemDescriptors.toArray(new
@@ -257,210 +246,135 @@ public class DuplicatePropertyInspection extends GlobalSimpleInspectionTool {
         );
     }
 
-    private static void processTextUsages(
-        final Map<String, Set<PsiFile>> processedTextToFiles,
-        final String text,
-        final Map<String, Set<PsiFile>> processedFoundTextToFiles,
-        final PsiSearchHelper searchHelper,
-        final GlobalSearchScope scope
+    @RequiredReadAction
+    private static List<PsiElement> findValueElements(
+        final Project project,
+        final String value,
+        final GlobalSearchScope scope,
+        final Map<VirtualFile, Map<String, List<IProperty>>> fileValueGroups
     ) {
-        if (!processedTextToFiles.containsKey(text)) {
-            if (processedFoundTextToFiles.containsKey(text)) {
-                final Set<PsiFile> filesWithValue = processedFoundTextToFiles.get(text);
-                processedTextToFiles.put(text, filesWithValue);
+        List<PsiElement> result = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile virtualFile : FileBasedIndex.getInstance()
+            .getContainingFiles(PropertyValueIndex.NAME, PropertyValueIndex.hash(value), scope)) {
+            Map<String, List<IProperty>> valueGroups = fileValueGroups.get(virtualFile);
+            if (valueGroups == null) {
+                if (!(psiManager.findFile(virtualFile) instanceof PropertiesFile propertiesFile)) {
+                    continue;
+                }
+                valueGroups = new HashMap<>();
+                for (IProperty property : propertiesFile.getProperties()) {
+                    valueGroups.computeIfAbsent(property.getValue(), v -> new SmartList<>()).add(property);
+                }
+                fileValueGroups.putIfAbsent(virtualFile, valueGroups);
             }
-            else {
-                final Set<PsiFile> resultFiles = new HashSet<>();
-                findFilesWithText(text, searchHelper, scope, resultFiles);
-                if (resultFiles.isEmpty()) {
-                    return;
+            for (IProperty property : valueGroups.getOrDefault(value, Collections.emptyList())) {
+                // the value token, the same element the old text search linked to
+                PsiElement valueElement = property.getPsiElement().getLastChild();
+                if (valueElement != null) {
+                    result.add(valueElement);
                 }
-                processedTextToFiles.put(text, resultFiles);
             }
         }
+        return result;
     }
 
-
     @RequiredReadAction
-    private static void prepareDuplicateValuesByFile(
-        final Map<String, Set<PsiFile>> valueToFiles,
+    private static void reportDuplicateValues(
+        final Map<String, List<PsiElement>> valueToElements,
         final InspectionManager manager,
         final List<ProblemDescriptor> problemDescriptors,
         final PsiFile psiFile,
-        final ProgressIndicator progress
+        final ProgressIndicator progress,
+        @Nullable final ProgressIndicator original
     ) {
-        for (final String value : valueToFiles.keySet()) {
-            if (progress != null) {
-                progress.setText2(InspectionLocalize.duplicatePropertyValueProgressIndicatorText(value));
-                progress.checkCanceled();
-            }
-            if (value.length() == 0) {
-                continue;
-            }
-            StringSearcher searcher = new StringSearcher(value, true, true);
-            final StringBuffer message = new StringBuffer();
-            final int[] duplicatesCount = {0};
-            Set<PsiFile> psiFilesWithDuplicates = valueToFiles.get(value);
-            for (final PsiFile file : psiFilesWithDuplicates) {
-                CharSequence text = file.getViewProvider().getContents();
-                LowLevelSearchUtil.processTextOccurrences(
-                    text,
-                    0,
-                    text.length(),
-                    searcher,
-                    progress,
-                    offset -> {
-                        PsiElement element = file.findElementAt(offset);
-                        if (element != null && element.getParent() instanceof Property) {
-                            final Property property = (Property) element.getParent();
-                            if (Comparing.equal(property.getValue(), value) && element.getStartOffsetInParent() != 0) {
-                                if (duplicatesCount[0] == 0) {
-                                    message.append(InspectionLocalize.duplicatePropertyValueProblemDescriptor(property.getValue()));
-                                }
-                                surroundWithHref(message, element, true);
-                                duplicatesCount[0]++;
-                            }
-                        }
-                        return true;
+        if (!JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+            new ArrayList<>(valueToElements.entrySet()),
+            progress,
+            false,
+            entry -> {
+                String value = entry.getKey();
+                if (original != null) {
+                    if (original.isCanceled()) {
+                        return false;
                     }
-                );
-            }
-            if (duplicatesCount[0] > 1) {
+                    original.setText2(InspectionLocalize.duplicatePropertyValueProgressIndicatorText(value));
+                }
+                List<PsiElement> elements = entry.getValue();
+                if (elements.size() < 2) {
+                    return true;
+                }
+                StringBuffer message = new StringBuffer();
+                message.append(InspectionLocalize.duplicatePropertyValueProblemDescriptor(value));
+                for (PsiElement element : elements) {
+                    surroundWithHref(message, element, true);
+                }
                 problemDescriptors.add(manager.createProblemDescriptor(psiFile, message.toString(), false, null,
                     ProblemHighlightType.GENERIC_ERROR_OR_WARNING
                 ));
+                return true;
             }
+        )) {
+            throw new ProcessCanceledException();
         }
     }
 
     @RequiredReadAction
-    private void prepareDuplicateKeysByFile(
-        final Map<String, Set<PsiFile>> keyToFiles,
+    private static void reportDuplicateKeys(
+        final Map<String, Collection<IProperty>> keyToProperties,
         final InspectionManager manager,
-        final Map<String, Set<String>> keyToValues,
         final List<ProblemDescriptor> problemDescriptors,
         final PsiFile psiFile,
         final ProgressIndicator progress,
-        DuplicatePropertyInspectionState state
+        @Nullable final ProgressIndicator original,
+        final DuplicatePropertyInspectionState state
     ) {
-        for (String key : keyToFiles.keySet()) {
-            if (progress != null) {
-                progress.setText2(InspectionLocalize.duplicatePropertyKeyProgressIndicatorText(key));
-                if (progress.isCanceled()) {
-                    throw new ProcessCanceledException();
-                }
-            }
-            final StringBuffer message = new StringBuffer();
-            int duplicatesCount = 0;
-            Set<PsiFile> psiFilesWithDuplicates = keyToFiles.get(key);
-            for (PsiFile file : psiFilesWithDuplicates) {
-                if (!(file instanceof PropertiesFile)) {
-                    continue;
-                }
-                PropertiesFile propertiesFile = (PropertiesFile) file;
-                final List<IProperty> propertiesByKey = propertiesFile.findPropertiesByKey(key);
-                for (IProperty property : propertiesByKey) {
-                    if (duplicatesCount == 0) {
-                        message.append(InspectionLocalize.duplicatePropertyKeyProblemDescriptor(key));
-                    }
-                    surroundWithHref(message, property.getPsiElement().getFirstChild(), false);
-                    duplicatesCount++;
-                    //prepare for filter same keys different values
-                    Set<String> values = keyToValues.get(key);
-                    if (values == null) {
-                        values = new HashSet<>();
-                        keyToValues.put(key, values);
+        if (!JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+            new ArrayList<>(keyToProperties.entrySet()),
+            progress,
+            false,
+            entry -> {
+                String key = entry.getKey();
+                if (original != null) {
+                    if (original.isCanceled()) {
+                        return false;
                     }
-                    values.add(property.getValue());
+                    original.setText2(InspectionLocalize.duplicatePropertyKeyProgressIndicatorText(key));
                 }
-            }
-            if (duplicatesCount > 1 && state.CHECK_DUPLICATE_KEYS) {
-                problemDescriptors.add(manager.createProblemDescriptor(
-                    psiFile,
-                    message.toString(),
-                    false,
-                    null,
-                    ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-                ));
-            }
-        }
-
-    }
-
-    @RequiredReadAction
-    private static void processDuplicateKeysWithDifferentValues(
-        final Map<String, Set<String>> keyToDifferentValues,
-        final Map<String, Set<PsiFile>> keyToFiles,
-        final List<ProblemDescriptor> problemDescriptors,
-        final InspectionManager manager,
-        final PsiFile psiFile,
-        final ProgressIndicator progress
-    ) {
-        for (String key : keyToDifferentValues.keySet()) {
-            if (progress != null) {
-                progress.setText2(InspectionLocalize.duplicatePropertyDiffKeyProgressIndicatorText(key));
-                if (progress.isCanceled()) {
-                    throw new ProcessCanceledException();
+                Collection<IProperty> propertiesByKey = entry.getValue();
+                if (propertiesByKey.size() < 2) {
+                    return true;
                 }
-            }
-            final Set<String> values = keyToDifferentValues.get(key);
-            if (values == null || values.size() < 2) {
-                keyToFiles.remove(key);
-            }
-            else {
-                StringBuffer message = new StringBuffer();
-                final Set<PsiFile> psiFiles = keyToFiles.get(key);
-                boolean firstUsage = true;
-                for (PsiFile file : psiFiles) {
-                    if (!(file instanceof PropertiesFile)) {
-                        continue;
+                if (state.CHECK_DUPLICATE_KEYS) {
+                    StringBuffer message = new StringBuffer();
+                    message.append(InspectionLocalize.duplicatePropertyKeyProblemDescriptor(key));
+                    for (IProperty property : propertiesByKey) {
+                        surroundWithHref(message, property.getPsiElement().getFirstChild(), false);
                     }
-                    PropertiesFile propertiesFile = (PropertiesFile) file;
-                    final List<IProperty> propertiesByKey = propertiesFile.findPropertiesByKey(key);
+                    problemDescriptors.add(manager.createProblemDescriptor(psiFile, message.toString(), false, null,
+                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING
+                    ));
+                }
+                if (state.CHECK_DUPLICATE_KEYS_WITH_DIFFERENT_VALUES) {
+                    Set<String> values = new HashSet<>();
                     for (IProperty property : propertiesByKey) {
-                        if (firstUsage) {
-                            message.append(InspectionLocalize.duplicatePropertyDiffKeyProblemDescriptor(key));
-                            firstUsage = false;
+                        values.add(property.getValue());
+                    }
+                    if (values.size() > 1) {
+                        StringBuffer message = new StringBuffer();
+                        message.append(InspectionLocalize.duplicatePropertyDiffKeyProblemDescriptor(key));
+                        for (IProperty property : propertiesByKey) {
+                            surroundWithHref(message, property.getPsiElement().getFirstChild(), false);
                         }
-                        surroundWithHref(message, property.getPsiElement().getFirstChild(), false);
+                        problemDescriptors.add(manager.createProblemDescriptor(psiFile, message.toString(), false, null,
+                            ProblemHighlightType.GENERIC_ERROR_OR_WARNING
+                        ));
                     }
                 }
-                problemDescriptors.add(manager.createProblemDescriptor(
-                    psiFile,
-                    message.toString(),
-                    false,
-                    null,
-                    ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-                ));
-            }
-        }
-    }
-
-    private static void findFilesWithText(
-        String stringToFind,
-        PsiSearchHelper searchHelper,
-        GlobalSearchScope scope,
-        final Set<PsiFile> resultFiles
-    ) {
-        final List<String> words = StringUtil.getWordsIn(stringToFind);
-        if (words.isEmpty()) {
-            return;
-        }
-        Collections.sort(words, (o1, o2) -> o2.length() - o1.length());
-        for (String word : words) {
-            final Set<PsiFile> files = new HashSet<>();
-            searchHelper.processAllFilesWithWord(word, scope, new CommonProcessors.CollectProcessor<>(files),
-                true
-            );
-            if (resultFiles.isEmpty()) {
-                resultFiles.addAll(files);
-            }
-            else {
-                resultFiles.retainAll(files);
-            }
-            if (resultFiles.isEmpty()) {
-                return;
+                return true;
             }
+        )) {
+            throw new ProcessCanceledException();
         }
     }
 
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.inspection.messageFormat;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.PropertiesLanguage;
+import com.intellij.lang.properties.PropertySuppressableInspectionBase;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.lang.properties.psi.Property;
+import com.intellij.lang.properties.psi.impl.PropertyImpl;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.language.Language;
+import consulo.language.ast.ASTNode;
+import consulo.language.editor.inspection.LocalInspectionToolSession;
+import consulo.language.editor.inspection.ProblemsHolder;
+import consulo.language.editor.rawHighlight.HighlightDisplayLevel;
+import consulo.language.psi.PsiElement;
+import consulo.language.psi.PsiElementVisitor;
+import consulo.language.psi.PsiFile;
+import consulo.localize.LocalizeValue;
+import consulo.project.Project;
+import consulo.properties.localize.PropertiesLocalize;
+import consulo.util.collection.SmartList;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports values whose {@code {n}} placeholders differ from the value of the same key in another locale of the
+ * resource bundle, and invalid {@link java.text.MessageFormat} patterns among values whose other locales are valid ones.
+ * Keys that are not MessageFormat patterns in every locale, or have no other locale, are not checked.
+ */
+@ExtensionImpl
+public class MessageFormatPlaceholdersInspection extends PropertySuppressableInspectionBase {
+    @Override
+    public LocalizeValue getDisplayName() {
+        return PropertiesLocalize.messageFormatPlaceholdersInspectionDisplayName();
+    }
+
+    @Override
+    public String getShortName() {
+        return "MessageFormatPlaceholders";
+    }
+
+    @Override
+    public HighlightDisplayLevel getDefaultLevel() {
+        return HighlightDisplayLevel.WARNING;
+    }
+
+    @Nullable
+    @Override
+    public Language getLanguage() {
+        return PropertiesLanguage.INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabledByDefault() {
+        return false;
+    }
+
+    @Override
+    @RequiredReadAction
+    public PsiElementVisitor buildVisitor(
+        final ProblemsHolder holder,
+        final boolean isOnTheFly,
+        final LocalInspectionToolSession session,
+        Object state
+    ) {
+        final PsiFile file = session.getFile();
+        if (!(file instanceof PropertiesFile propertiesFile)) {
+            return super.buildVisitor(holder, isOnTheFly, session, state);
+        }
+        final Project project = file.getProject();
+        final ResourceBundle resourceBundle = propertiesFile.getResourceBundle();
+        final List<PropertiesFile> bundleFiles = resourceBundle.getPropertiesFiles(project);
+        final boolean hasLocales = bundleFiles.size() > 1;
+        return new PsiElementVisitor() {
+            // properties of the other locales by unescaped key, collected for the first property that needs them
+            @Nullable
+            private Map<String, List<IProperty>> myOtherProperties;
+
+            @Override
+            @RequiredReadAction
+            public void visitElement(PsiElement element) {
+                if (!(element instanceof Property property)) {
+                    return;
+                }
+                String key = property.getUnescapedKey();
+                String value = property.getUnescapedValue();
+                if (key == null || value == null) {
+                    return;
+                }
+
+                // empty values are not translated yet
+                if (!hasLocales || value.isEmpty()) {
+                    return;
+                }
+                List<IProperty> others = getOtherProperties().get(key);
+                if (others == null) {
+                    return;
+                }
+
+                PlaceholderSignature signature = PlaceholderSignature.of(value);
+                IProperty mismatch = null;
+                PlaceholderSignature mismatchSignature = null;
+                boolean othersValid = false;
+                for (IProperty other : others) {
+                    String otherValue = other.getUnescapedValue();
+                    if (otherValue == null || otherValue.isEmpty()) {
+                        continue;
+                    }
+                    PlaceholderSignature otherSignature = PlaceholderSignature.of(otherValue);
+                    if (!otherSignature.isValid()) {
+                        // not a MessageFormat pattern in every locale, e.g. a ${...} or {} placeholder of another library
+                        return;
+                    }
+                    othersValid = true;
+                    if (mismatch == null && !otherSignature.equals(signature)) {
+                        mismatch = other;
+                        mismatchSignature = otherSignature;
+                    }
+                }
+                if (!othersValid) {
+                    return;
+                }
+
+                if (!signature.isValid()) {
+                    holder.registerProblem(
+                        getValueElement(property),
+                        PropertiesLocalize.messageFormatPlaceholdersInvalidProblemDescriptor().get()
+                    );
+                }
+                else if (mismatch != null) {
+                    holder.registerProblem(
+                        getValueElement(property),
+                        PropertiesLocalize.messageFormatPlaceholdersMismatchProblemDescriptor(
+                            signature,
+                            mismatchSignature,
+                            mismatch.getPropertiesFile().getName()
+                        ).get()
+                    );
+                }
+            }
+
+            @RequiredReadAction
+            private Map<String, List<IProperty>> getOtherProperties() {
+                Map<String, List<IProperty>> otherProperties = myOtherProperties;
+                if (otherProperties == null) {
+                    otherProperties = new HashMap<>();
+                    for (PropertiesFile bundleFile : bundleFiles) {
+                        if (propertiesFile.equals(bundleFile)) {
+                            continue;
+                        }
+                        for (IProperty other : bundleFile.getProperties()) {
+                            String otherKey = other.getUnescapedKey();
+                            if (otherKey != null) {
+                                otherProperties.computeIfAbsent(otherKey, k -> new SmartList<>()).add(other);
+                            }
+                        }
+                    }
+                    myOtherProperties = otherProperties;
+                }
+                return otherProperties;
+            }
+        };
+    }
+
+    @RequiredReadAction
+    private static PsiElement getValueElement(Property property) {
+        ASTNode valueNode = property instanceof PropertyImpl propertyImpl ? propertyImpl.getValueNode() : null;
+        return valueNode == null ? property : valueNode.getPsi();
+    }
+}
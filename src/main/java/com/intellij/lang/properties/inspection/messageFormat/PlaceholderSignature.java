@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.inspection.messageFormat;
+
+import java.util.*;
+
+/**
+ * Argument indices used by a {@link java.text.MessageFormat} pattern, sorted and without duplicates.
+ * Patterns are parsed with the quoting and brace rules of {@code MessageFormat.applyPattern}, without building the formats.
+ */
+final class PlaceholderSignature {
+    static final PlaceholderSignature NONE = new PlaceholderSignature(new int[0]);
+    static final PlaceholderSignature INVALID = new PlaceholderSignature(null);
+
+    private static final Set<String> FORMAT_TYPES = Set.of("", "number", "date", "time", "choice");
+
+    private final int[] myIndices;
+
+    private PlaceholderSignature(int[] indices) {
+        myIndices = indices;
+    }
+
+    static PlaceholderSignature of(String pattern) {
+        if (pattern.indexOf('{') < 0) {
+            return NONE;
+        }
+        return parse(pattern);
+    }
+
+    boolean isValid() {
+        return myIndices != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PlaceholderSignature that && Arrays.equals(myIndices, that.myIndices);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(myIndices);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(myIndices);
+    }
+
+    private static PlaceholderSignature parse(String pattern) {
+        BitSet indices = new BitSet();
+        int len = pattern.length();
+        boolean quoted = false;
+        int i = 0;
+        while (i < len) {
+            char c = pattern.charAt(i++);
+            if (c == '\'') {
+                // a doubled quote is a literal quote, both inside and outside of quoted text
+                if (i < len && pattern.charAt(i) == '\'') {
+                    i++;
+                }
+                else {
+                    quoted = !quoted;
+                }
+            }
+            else if (c == '{' && !quoted) {
+                i = parsePlaceholder(pattern, i, indices);
+                if (i < 0) {
+                    return INVALID;
+                }
+            }
+        }
+        return indices.isEmpty() ? NONE : new PlaceholderSignature(indices.stream().toArray());
+    }
+
+    /**
+     * @return offset after the closing brace of the placeholder starting at {@code start}, or -1 if it is malformed
+     */
+    private static int parsePlaceholder(String pattern, int start, BitSet indices) {
+        int len = pattern.length();
+        int i = skipToSeparator(pattern, start);
+        if (i == len) {
+            return -1;
+        }
+        int index = parseIndex(pattern, start, i);
+        if (index < 0) {
+            return -1;
+        }
+        indices.set(index);
+        if (pattern.charAt(i) == '}') {
+            return i + 1;
+        }
+
+        int typeStart = ++i;
+        i = skipToSeparator(pattern, typeStart);
+        if (i == len || !FORMAT_TYPES.contains(pattern.substring(typeStart, i).trim().toLowerCase(Locale.ROOT))) {
+            return -1;
+        }
+        if (pattern.charAt(i) == '}') {
+            return i + 1;
+        }
+
+        // the style may contain quoted text and nested braces, e.g. in choice formats
+        i++;
+        int depth = 0;
+        boolean quoted = false;
+        while (i < len) {
+            char c = pattern.charAt(i++);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            else if (!quoted) {
+                if (c == '{') {
+                    depth++;
+                }
+                else if (c == '}') {
+                    if (depth == 0) {
+                        return i;
+                    }
+                    depth--;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static int skipToSeparator(String pattern, int i) {
+        int len = pattern.length();
+        while (i < len && pattern.charAt(i) != ',' && pattern.charAt(i) != '}') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int parseIndex(String pattern, int start, int end) {
+        while (start < end && Character.isWhitespace(pattern.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(pattern.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + c - '0';
+        }
+        return index;
+    }
+}
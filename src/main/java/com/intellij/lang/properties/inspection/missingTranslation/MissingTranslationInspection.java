@@ -0,0 +1,262 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.inspection.missingTranslation;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.PropertiesLanguage;
+import com.intellij.lang.properties.PropertiesReferenceManager;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import consulo.annotation.access.RequiredReadAction;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.application.progress.ProgressManager;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
+import consulo.application.util.concurrent.JobLauncher;
+import consulo.component.ProcessCanceledException;
+import consulo.language.Language;
+import consulo.language.editor.inspection.*;
+import consulo.language.editor.inspection.localize.InspectionLocalize;
+import consulo.language.editor.inspection.scheme.InspectionManager;
+import consulo.language.editor.rawHighlight.HighlightDisplayLevel;
+import consulo.language.psi.PsiFile;
+import consulo.localize.LocalizeValue;
+import consulo.project.Project;
+import consulo.properties.localize.PropertiesLocalize;
+import consulo.util.dataholder.Key;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Reports keys of the default properties file missing in the other locale files of its resource bundle,
+ * unless a parent locale file defines them, and keys of a locale file the default file does not define.
+ * <p>
+ * The keys of a bundle are numbered once and every file of the bundle gets a bitset of the keys it contains,
+ * so checking a locale file is a couple of bitset operations. The bitsets are cached on the default file.
+ */
+@ExtensionImpl
+public class MissingTranslationInspection extends GlobalSimpleInspectionTool {
+    private static final Key<CachedValue<BundleKeyTable>> BUNDLE_KEY_TABLE_KEY = Key.create("properties.bundle.key.table");
+
+    @RequiredReadAction
+    @Override
+    public void checkFile(
+        PsiFile file,
+        InspectionManager manager,
+        ProblemsHolder problemsHolder,
+        GlobalInspectionContext globalContext,
+        ProblemDescriptionsProcessor problemDescriptionsProcessor,
+        Object state
+    ) {
+        if (!(file instanceof PropertiesFile propertiesFile) || !globalContext.isToCheckFile(file, this)) {
+            return;
+        }
+        Project project = file.getProject();
+        ResourceBundle resourceBundle = propertiesFile.getResourceBundle();
+        PropertiesFile defaultFile = resourceBundle.getDefaultPropertiesFile(project);
+        if (defaultFile == null || defaultFile.equals(propertiesFile)) {
+            return;
+        }
+        BundleKeyTable table = getBundleKeyTable(defaultFile, resourceBundle);
+        int fileIndex = table.myFiles.indexOf(propertiesFile);
+        if (fileIndex <= 0) {
+            return;
+        }
+
+        List<ProblemDescriptor> descriptors = new ArrayList<>();
+        BitSet present = table.myPresent[fileIndex];
+        BitSet missing = (BitSet) table.myPresent[0].clone();
+        missing.andNot(present);
+        // ResourceBundle falls back to the parent locales, so de_AT need not repeat the keys of de
+        Locale locale = propertiesFile.getLocale();
+        for (int i = 1; i < table.myFiles.size() && !missing.isEmpty(); i++) {
+            if (isParentLocale(table.myFiles.get(i).getLocale(), locale)) {
+                missing.andNot(table.myPresent[i]);
+            }
+        }
+        for (int id = missing.nextSetBit(0); id >= 0; id = missing.nextSetBit(id + 1)) {
+            descriptors.add(manager.createProblemDescriptor(
+                file,
+                PropertiesLocalize.missingTranslationMissingKeyProblemDescriptor(table.myKeys.get(id)).get(),
+                false,
+                null,
+                ProblemHighlightType.GENERIC_ERROR_OR_WARNING
+            ));
+        }
+
+        BitSet extra = (BitSet) present.clone();
+        extra.andNot(table.myPresent[0]);
+        if (!extra.isEmpty()) {
+            for (IProperty property : propertiesFile.getProperties()) {
+                Integer id = table.myKeyIds.get(property.getUnescapedKey());
+                // report duplicated keys once
+                if (id != null && extra.get(id)) {
+                    extra.clear(id);
+                    descriptors.add(manager.createProblemDescriptor(
+                        property.getPsiElement(),
+                        PropertiesLocalize.missingTranslationExtraKeyProblemDescriptor(property.getUnescapedKey()).get(),
+                        false,
+                        null,
+                        ProblemHighlightType.GENERIC_ERROR_OR_WARNING
+                    ));
+                }
+            }
+        }
+
+        if (!descriptors.isEmpty()) {
+            problemDescriptionsProcessor.addProblemElement(
+                globalContext.getRefManager().getReference(file),
+                descriptors.toArray(new ProblemDescriptor[descriptors.size()])
+            );
+        }
+    }
+
+    /**
+     * @return whether lookups in the child locale fall back to the parent one, not counting the default file
+     */
+    private static boolean isParentLocale(Locale parent, Locale child) {
+        if (parent.getLanguage().isEmpty() || !parent.getLanguage().equals(child.getLanguage()) || parent.equals(child)) {
+            return false;
+        }
+        if (parent.getCountry().isEmpty()) {
+            return parent.getVariant().isEmpty();
+        }
+        return parent.getCountry().equals(child.getCountry()) && parent.getVariant().isEmpty() && !child.getVariant().isEmpty();
+    }
+
+    @RequiredReadAction
+    private static BundleKeyTable getBundleKeyTable(PropertiesFile defaultFile, ResourceBundle resourceBundle) {
+        PsiFile defaultPsiFile = defaultFile.getContainingFile();
+        Project project = defaultPsiFile.getProject();
+        return CachedValuesManager.getManager(project).getCachedValue(
+            defaultPsiFile,
+            BUNDLE_KEY_TABLE_KEY,
+            () -> {
+                BundleKeyTable table = new BundleKeyTable(defaultFile, resourceBundle.getPropertiesFiles(project));
+                List<Object> dependencies = new ArrayList<>();
+                for (PropertiesFile file : table.myFiles) {
+                    dependencies.add(file.getContainingFile());
+                }
+                dependencies.add(PropertiesReferenceManager.getInstance(project).getPropertiesFilesModificationTracker());
+                return CachedValueProvider.Result.create(table, dependencies.toArray());
+            },
+            false
+        );
+    }
+
+    /**
+     * Keys of a resource bundle numbered in the order of their first appearance, the keys of the default file first,
+     * and the set of key numbers of every file of the bundle.
+     */
+    private static final class BundleKeyTable {
+        // the default file is the first one
+        private final List<PropertiesFile> myFiles;
+        private final List<String> myKeys = new ArrayList<>();
+        private final Map<String, Integer> myKeyIds = new HashMap<>();
+        private final BitSet[] myPresent;
+
+        @RequiredReadAction
+        @SuppressWarnings("unchecked")
+        BundleKeyTable(PropertiesFile defaultFile, List<PropertiesFile> files) {
+            myFiles = new ArrayList<>(files.size());
+            myFiles.add(defaultFile);
+            for (PropertiesFile file : files) {
+                if (!file.equals(defaultFile)) {
+                    myFiles.add(file);
+                }
+            }
+
+            // reading the keys out of the files is the expensive part, the numbering below is cheap
+            List<String>[] fileKeys = new List[myFiles.size()];
+            List<Integer> indices = new ArrayList<>(myFiles.size());
+            for (int i = 0; i < myFiles.size(); i++) {
+                indices.add(i);
+            }
+            if (!JobLauncher.getInstance().invokeConcurrentlyUnderProgress(
+                indices,
+                ProgressManager.getInstance().getProgressIndicator(),
+                false,
+                i -> {
+                    List<IProperty> properties = myFiles.get(i).getProperties();
+                    List<String> keys = new ArrayList<>(properties.size());
+                    for (IProperty property : properties) {
+                        String key = property.getUnescapedKey();
+                        if (key != null) {
+                            keys.add(key);
+                        }
+                    }
+                    fileKeys[i] = keys;
+                    return true;
+                }
+            )) {
+                throw new ProcessCanceledException();
+            }
+
+            myPresent = new BitSet[myFiles.size()];
+            for (int i = 0; i < fileKeys.length; i++) {
+                BitSet present = new BitSet(myKeys.size());
+                for (String key : fileKeys[i]) {
+                    Integer id = myKeyIds.get(key);
+                    if (id == null) {
+                        id = myKeys.size();
+                        myKeys.add(key);
+                        myKeyIds.put(key, id);
+                    }
+                    present.set(id);
+                }
+                myPresent[i] = present;
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public Language getLanguage() {
+        return PropertiesLanguage.INSTANCE;
+    }
+
+    @Override
+    public HighlightDisplayLevel getDefaultLevel() {
+        return HighlightDisplayLevel.WARNING;
+    }
+
+    @Override
+    public LocalizeValue getDisplayName() {
+        return PropertiesLocalize.missingTranslationInspectionDisplayName();
+    }
+
+    @Override
+    public LocalizeValue getGroupDisplayName() {
+        return InspectionLocalize.groupNamesPropertiesFiles();
+    }
+
+    @Override
+    public LocalizeValue[] getGroupPath() {
+        return new LocalizeValue[]{getGroupDisplayName()};
+    }
+
+    @Override
+    public String getShortName() {
+        return "MissingTranslation";
+    }
+
+    @Override
+    public boolean isEnabledByDefault() {
+        return false;
+    }
+}
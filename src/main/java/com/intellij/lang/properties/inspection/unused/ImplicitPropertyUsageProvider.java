@@ -19,6 +19,10 @@ import com.intellij.lang.properties.psi.Property;
 import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.ExtensionAPI;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 /**
  * @author Max Medvedev
  */
@@ -37,5 +41,73 @@ public abstract class ImplicitPropertyUsageProvider
 		return false;
 	}
 
+	/**
+	 * Bulk version of {@link #isImplicitlyUsed(Property)}. Each provider is only asked about the properties
+	 * the previous providers did not report as used.
+	 *
+	 * @return bit {@code i} is set if {@code properties.get(i)} is implicitly used according to some provider
+	 */
+	public static BitSet getImplicitlyUsed(List<? extends Property> properties)
+	{
+		BitSet result = new BitSet(properties.size());
+		if(properties.isEmpty())
+		{
+			return result;
+		}
+		// indices of the properties no provider has claimed yet
+		int[] remaining = new int[properties.size()];
+		for(int i = 0; i < remaining.length; i++)
+		{
+			remaining[i] = i;
+		}
+		int remainingCount = remaining.length;
+		for(ImplicitPropertyUsageProvider provider : properties.get(0).getProject().getApplication().getExtensionPoint(ImplicitPropertyUsageProvider.class))
+		{
+			List<Property> toCheck = new ArrayList<Property>(remainingCount);
+			for(int i = 0; i < remainingCount; i++)
+			{
+				toCheck.add(properties.get(remaining[i]));
+			}
+			BitSet used = provider.getUsed(toCheck);
+			int stillRemaining = 0;
+			for(int i = 0; i < remainingCount; i++)
+			{
+				if(used.get(i))
+				{
+					result.set(remaining[i]);
+				}
+				else
+				{
+					remaining[stillRemaining++] = remaining[i];
+				}
+			}
+			remainingCount = stillRemaining;
+			if(remainingCount == 0)
+			{
+				break;
+			}
+		}
+		return result;
+	}
+
 	protected abstract boolean isUsed(Property property);
+
+	/**
+	 * Override to check many properties (usually a whole file) at once, e.g. by matching all keys against
+	 * a naming convention compiled once instead of calling {@link #isUsed(Property)} for each of them.
+	 *
+	 * @return bit {@code i} is set if {@code properties.get(i)} is used
+	 */
+	protected BitSet getUsed(List<? extends Property> properties)
+	{
+		BitSet result = new BitSet(properties.size());
+		for(int i = 0; i < properties.size(); i++)
+		{
+			if(isUsed(properties.get(i)))
+			{
+				result.set(i);
+			}
+		}
+		return result;
+	}
 }
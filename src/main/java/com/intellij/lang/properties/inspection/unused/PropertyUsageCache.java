@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.inspection.unused;
+
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.language.psi.PsiFile;
+import consulo.language.psi.PsiManager;
+import consulo.language.psi.event.PsiTreeChangeAdapter;
+import consulo.language.psi.event.PsiTreeChangeEvent;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.module.Module;
+import consulo.module.content.ProjectRootManager;
+import consulo.project.Project;
+import consulo.util.lang.Pair;
+import consulo.virtualFileSystem.VirtualFile;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers whether a key of a bundle is used, and whether a key word occurs outside properties files,
+ * per module of the properties file.
+ * The answers of a module are dropped when a non-properties file in its dependents scope changes,
+ * so editing properties files alone never forces the usages to be searched again.
+ *
+ * @see UnusedPropertyInspection
+ */
+@Singleton
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+public class PropertyUsageCache {
+    private final ProjectRootManager myProjectRootManager;
+    private final Map<Module, ModuleUsages> myModuleUsages = new ConcurrentHashMap<>();
+    private volatile long myRootModificationCount = -1;
+
+    public static PropertyUsageCache getInstance(Project project) {
+        return project.getInstance(PropertyUsageCache.class);
+    }
+
+    @Inject
+    public PropertyUsageCache(Project project, PsiManager psiManager, ProjectRootManager projectRootManager) {
+        myProjectRootManager = projectRootManager;
+        psiManager.addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childRemoved(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childReplaced(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childMoved(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void childrenChanged(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+
+            @Override
+            public void propertyChanged(PsiTreeChangeEvent event) {
+                psiChanged(event);
+            }
+        }, project);
+    }
+
+    /**
+     * The returned object stays valid for the current read action; after a relevant change it is detached and a fresh one is created.
+     */
+    public ModuleUsages getModuleUsages(Module module) {
+        long rootModificationCount = myProjectRootManager.getModificationCount();
+        if (rootModificationCount != myRootModificationCount) {
+            myModuleUsages.clear();
+            myRootModificationCount = rootModificationCount;
+        }
+        return myModuleUsages.computeIfAbsent(module, m -> new ModuleUsages());
+    }
+
+    private void psiChanged(PsiTreeChangeEvent event) {
+        if (myModuleUsages.isEmpty()) {
+            return;
+        }
+        PsiFile file = event.getFile();
+        if (file == null) {
+            // files or directories were added, removed or moved
+            myModuleUsages.clear();
+            return;
+        }
+        if (file instanceof PropertiesFile) {
+            return;
+        }
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null) {
+            return;
+        }
+        myModuleUsages.keySet().removeIf(module -> module.isDisposed() || GlobalSearchScope.moduleWithDependentsScope(module).contains(virtualFile));
+    }
+
+    public static final class ModuleUsages {
+        private final Map<Pair<ResourceBundle, String>, Boolean> myUsed = new ConcurrentHashMap<>();
+        // whether a word of the keys occurs in some non-properties file, shared by all files of one batch run
+        private final Map<String, Boolean> myWordOccurrences = new ConcurrentHashMap<>();
+
+        @Nullable
+        public Boolean isUsed(ResourceBundle bundle, String key) {
+            return myUsed.get(Pair.create(bundle, key));
+        }
+
+        public void setUsed(ResourceBundle bundle, String key, boolean used) {
+            myUsed.put(Pair.create(bundle, key), used);
+        }
+
+        @Nullable
+        public Boolean isWordOccurring(String word) {
+            return myWordOccurrences.get(word);
+        }
+
+        public void setWordOccurring(String word, boolean occurs) {
+            myWordOccurrences.put(word, occurs);
+        }
+    }
+}
@@ -15,9 +15,13 @@
  */
 package com.intellij.lang.properties.inspection.unused;
 
+import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.PropertiesLanguage;
+import com.intellij.lang.properties.PropertiesUtil;
 import com.intellij.lang.properties.PropertySuppressableInspectionBase;
 import com.intellij.lang.properties.RemovePropertyLocalFix;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.lang.properties.psi.Property;
 import consulo.annotation.access.RequiredReadAction;
 import consulo.annotation.component.ExtensionImpl;
@@ -35,16 +39,23 @@ import consulo.language.psi.PsiFile;
 import consulo.language.psi.scope.GlobalSearchScope;
 import consulo.language.psi.search.PsiSearchHelper;
 import consulo.language.psi.search.ReferencesSearch;
+import consulo.language.psi.search.UsageSearchContext;
 import consulo.localize.LocalizeValue;
 import consulo.module.Module;
 import consulo.properties.localize.PropertiesLocalize;
+import consulo.util.lang.StringUtil;
 import org.jspecify.annotations.Nullable;
 
+import java.util.*;
+
 /**
  * @author cdr
  */
 @ExtensionImpl
 public class UnusedPropertyInspection extends PropertySuppressableInspectionBase {
+    private static final short WORD_SEARCH_CONTEXT =
+        UsageSearchContext.IN_STRINGS | UsageSearchContext.IN_CODE | UsageSearchContext.IN_FOREIGN_LANGUAGES;
+
     @Override
     public LocalizeValue getDisplayName() {
         return PropertiesLocalize.unusedPropertyInspectionDisplayName();
@@ -82,6 +93,22 @@ public class UnusedPropertyInspection extends PropertySuppressableInspectionBase
 
         final GlobalSearchScope searchScope = GlobalSearchScope.moduleWithDependentsScope(module);
         final PsiSearchHelper searchHelper = PsiSearchHelper.getInstance(file.getProject());
+        final Set<Property> implicitlyUsed = file instanceof PropertiesFile propertiesFile
+            ? findImplicitlyUsed(propertiesFile)
+            : Collections.emptySet();
+        final PropertyUsageCache.ModuleUsages usages = PropertyUsageCache.getInstance(file.getProject()).getModuleUsages(module);
+        if (!isOnTheFly && file instanceof PropertiesFile propertiesFile) {
+            final Set<Property> unusedProperties = findUnusedProperties(propertiesFile, implicitlyUsed, searchScope, searchHelper, usages);
+            return new PsiElementVisitor() {
+                @Override
+                @RequiredReadAction
+                public void visitElement(PsiElement element) {
+                    if (element instanceof Property property && unusedProperties.contains(property)) {
+                        registerUnusedProperty(holder, property);
+                    }
+                }
+            };
+        }
         return new PsiElementVisitor() {
             @Override
             @RequiredReadAction
@@ -99,7 +126,7 @@ public class UnusedPropertyInspection extends PropertySuppressableInspectionBase
                     original.setText(PropertiesLocalize.searchingForPropertyKeyProgressText(property.getUnescapedKey()));
                 }
 
-                if (ImplicitPropertyUsageProvider.isImplicitlyUsed(property)) {
+                if (implicitlyUsed.contains(property)) {
                     return;
                 }
 
@@ -108,25 +135,112 @@ public class UnusedPropertyInspection extends PropertySuppressableInspectionBase
                     return;
                 }
 
-                PsiSearchHelper.SearchCostResult cheapEnough = searchHelper.isCheapEnoughToSearch(name, searchScope, file, original);
-                if (cheapEnough == PsiSearchHelper.SearchCostResult.TOO_MANY_OCCURRENCES) {
-                    return;
+                ResourceBundle bundle = property.getPropertiesFile().getResourceBundle();
+                Boolean used = usages.isUsed(bundle, name);
+                if (used == null) {
+                    PsiSearchHelper.SearchCostResult cheapEnough = searchHelper.isCheapEnoughToSearch(name, searchScope, file, original);
+                    used = cheapEnough == PsiSearchHelper.SearchCostResult.TOO_MANY_OCCURRENCES ||
+                        cheapEnough != PsiSearchHelper.SearchCostResult.ZERO_OCCURRENCES &&
+                            ReferencesSearch.search(property, searchScope, false).findFirst() != null;
+                    usages.setUsed(bundle, name, used);
                 }
 
-                if (cheapEnough != PsiSearchHelper.SearchCostResult.ZERO_OCCURRENCES &&
-                    ReferencesSearch.search(property, searchScope, false).findFirst() != null) {
-                    return;
+                if (!used) {
+                    registerUnusedProperty(holder, property);
                 }
+            }
+        };
+    }
+
+    private static Set<Property> findImplicitlyUsed(PropertiesFile propertiesFile) {
+        List<Property> properties = new ArrayList<>();
+        for (IProperty property : propertiesFile.getProperties()) {
+            if (property instanceof Property p) {
+                properties.add(p);
+            }
+        }
+        BitSet used = ImplicitPropertyUsageProvider.getImplicitlyUsed(properties);
+        Set<Property> result = new HashSet<>();
+        for (int i = used.nextSetBit(0); i >= 0; i = used.nextSetBit(i + 1)) {
+            result.add(properties.get(i));
+        }
+        return result;
+    }
 
-                final ASTNode propertyNode = property.getNode();
-                assert propertyNode != null;
+    /**
+     * Batch counterpart of the on-the-fly check: every distinct word of the keys is looked up in the word index once
+     * per module for the whole run, and references are searched only for keys all of whose words occur outside
+     * properties files. The other locales of a bundle repeat the same keys, so occurrences in properties files do not count.
+     */
+    @RequiredReadAction
+    private static Set<Property> findUnusedProperties(
+        PropertiesFile propertiesFile,
+        Set<Property> implicitlyUsed,
+        GlobalSearchScope searchScope,
+        PsiSearchHelper searchHelper,
+        PropertyUsageCache.ModuleUsages usages
+    ) {
+        final PsiFile file = propertiesFile.getContainingFile();
+        final ProgressIndicator original = ProgressManager.getInstance().getProgressIndicator();
+        Set<Property> unusedProperties = new HashSet<>();
+        for (IProperty p : propertiesFile.getProperties()) {
+            ProgressManager.checkCanceled();
+            if (!(p instanceof Property property) || implicitlyUsed.contains(property)) {
+                continue;
+            }
+            String name = property.getName();
+            if (name == null) {
+                continue;
+            }
 
-                ASTNode[] nodes = propertyNode.getChildren(null);
-                PsiElement key = nodes.length == 0 ? property : nodes[0].getPsi();
-                String description = PropertiesLocalize.unusedPropertyProblemDescriptorName().get();
+            boolean allWordsOccur = true;
+            for (String word : StringUtil.getWordsIn(name)) {
+                Boolean occurs = usages.isWordOccurring(word);
+                if (occurs == null) {
+                    // keys are mostly used as string literals; stop at the first occurrence outside properties files
+                    occurs = !searchHelper.processElementsWithWord(
+                        (element, offsetInElement) -> PropertiesUtil.getPropertiesFile(element.getContainingFile()) != null,
+                        searchScope,
+                        word,
+                        WORD_SEARCH_CONTEXT,
+                        true
+                    );
+                    usages.setWordOccurring(word, occurs);
+                }
+                if (!occurs) {
+                    allWordsOccur = false;
+                    break;
+                }
+            }
+            if (!allWordsOccur) {
+                unusedProperties.add(property);
+                continue;
+            }
 
-                holder.registerProblem(key, description, ProblemHighlightType.LIKE_UNUSED_SYMBOL, RemovePropertyLocalFix.INSTANCE);
+            if (original != null) {
+                original.setText(PropertiesLocalize.searchingForPropertyKeyProgressText(property.getUnescapedKey()));
             }
-        };
+            PsiSearchHelper.SearchCostResult cheapEnough = searchHelper.isCheapEnoughToSearch(name, searchScope, file, original);
+            if (cheapEnough == PsiSearchHelper.SearchCostResult.TOO_MANY_OCCURRENCES) {
+                continue;
+            }
+            if (cheapEnough == PsiSearchHelper.SearchCostResult.ZERO_OCCURRENCES ||
+                ReferencesSearch.search(property, searchScope, false).findFirst() == null) {
+                unusedProperties.add(property);
+            }
+        }
+        return unusedProperties;
+    }
+
+    @RequiredReadAction
+    private static void registerUnusedProperty(ProblemsHolder holder, Property property) {
+        final ASTNode propertyNode = property.getNode();
+        assert propertyNode != null;
+
+        ASTNode[] nodes = propertyNode.getChildren(null);
+        PsiElement key = nodes.length == 0 ? property : nodes[0].getPsi();
+        String description = PropertiesLocalize.unusedPropertyProblemDescriptorName().get();
+
+        holder.registerProblem(key, description, ProblemHighlightType.LIKE_UNUSED_SYMBOL, RemovePropertyLocalFix.INSTANCE);
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.psi;
+
+import com.intellij.lang.properties.PropertiesFileType;
+import com.intellij.lang.properties.parsing.PropertiesTokenTypes;
+import com.intellij.lang.properties.parsing._PropertiesLexer;
+import consulo.annotation.component.ExtensionImpl;
+import consulo.index.io.DataIndexer;
+import consulo.index.io.EnumeratorStringDescriptor;
+import consulo.index.io.ID;
+import consulo.index.io.KeyDescriptor;
+import consulo.index.io.data.DataExternalizer;
+import consulo.language.lexer.Lexer;
+import consulo.language.psi.stub.FileBasedIndex;
+import consulo.language.psi.stub.FileBasedIndexExtension;
+import consulo.language.psi.stub.FileContent;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the hash of every non-empty property value (as returned by {@link Property#getValue()}) to the files containing it.
+ * Hashes may collide, so the values of the found files have to be compared.
+ */
+@ExtensionImpl
+public class PropertyValueIndex extends FileBasedIndexExtension<Integer, String> implements FileBasedIndex.InputFilter,
+    DataIndexer<Integer, String, FileContent>, KeyDescriptor<Integer> {
+
+    public static final ID<Integer, String> NAME = ID.create("properties.value.hash");
+
+    private static final EnumeratorStringDescriptor ENUMERATOR_STRING_DESCRIPTOR = new EnumeratorStringDescriptor();
+
+    public static int hash(String value) {
+        return value.hashCode();
+    }
+
+    @Override
+    public ID<Integer, String> getName() {
+        return NAME;
+    }
+
+    @Override
+    public DataIndexer<Integer, String, FileContent> getIndexer() {
+        return this;
+    }
+
+    @Override
+    public KeyDescriptor<Integer> getKeyDescriptor() {
+        return this;
+    }
+
+    @Override
+    public DataExternalizer<String> getValueExternalizer() {
+        return ENUMERATOR_STRING_DESCRIPTOR;
+    }
+
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return this;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public boolean acceptInput(Project project, VirtualFile file) {
+        return PropertiesFileType.INSTANCE == file.getFileType();
+    }
+
+    @Override
+    public Map<Integer, String> map(FileContent inputData) {
+        CharSequence text = inputData.getContentAsText();
+        Map<Integer, String> map = new HashMap<>();
+        Lexer lexer = new _PropertiesLexer();
+        lexer.start(text);
+        while (lexer.getTokenType() != null) {
+            if (lexer.getTokenType() == PropertiesTokenTypes.VALUE_CHARACTERS && lexer.getTokenEnd() > lexer.getTokenStart()) {
+                // same as String.hashCode() of the value, without copying it
+                int hash = 0;
+                for (int i = lexer.getTokenStart(); i < lexer.getTokenEnd(); i++) {
+                    hash = 31 * hash + text.charAt(i);
+                }
+                map.put(hash, "");
+            }
+            lexer.advance();
+        }
+        return map;
+    }
+
+    @Override
+    public void save(DataOutput out, Integer value) throws IOException {
+        out.writeInt(value);
+    }
+
+    @Override
+    public Integer read(DataInput in) throws IOException {
+        return in.readInt();
+    }
+
+    @Override
+    public int hashCode(Integer value) {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Integer val1, Integer val2) {
+        return val1.intValue() == val2.intValue();
+    }
+}
@@ -2,38 +2,108 @@
 package com.intellij.lang.properties.psi.impl;
 
 import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.PropertiesFileProcessor;
 import com.intellij.lang.properties.PropertiesReferenceManager;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.lang.properties.references.PropertyReferenceBase;
+import consulo.application.progress.ProgressManager;
 import consulo.module.content.ProjectRootManager;
 import consulo.virtualFileSystem.VirtualFile;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.objects.ObjectOpenCustomHashSet;
 import org.jspecify.annotations.Nullable;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Predicate;
 
 public final class PropertiesPsiCompletionUtil {
     public static void addVariantsFromFile(PropertyReferenceBase propertyReference,
                                            final PropertiesFile propertiesFile,
                                            final Set<Object> variants) {
+        List<? extends IProperty> properties = getContentProperties(propertiesFile);
+        for (IProperty property : properties) {
+            propertyReference.addKey(property, variants);
+        }
+    }
+
+    private static List<? extends IProperty> getContentProperties(@Nullable PropertiesFile propertiesFile) {
         if (propertiesFile == null) {
-            return;
+            return Collections.emptyList();
         }
         VirtualFile virtualFile = propertiesFile.getVirtualFile();
         if (virtualFile == null || !ProjectRootManager.getInstance(propertiesFile.getProject()).getFileIndex().isInContent(virtualFile)) {
-            return;
+            return Collections.emptyList();
         }
-        List<? extends IProperty> properties = propertiesFile.getProperties();
-        for (IProperty property : properties) {
-            propertyReference.addKey(property, variants);
+        return propertiesFile.getProperties();
+    }
+
+    /**
+     * Streaming counterpart of {@link #getPropertiesKeys}: variants are handed to the consumer file by file as they are found.
+     * Properties whose key is rejected by the filter are skipped before any variant is produced for them.
+     *
+     * @return false if the consumer asked to stop
+     */
+    public static boolean processPropertiesKeys(final PropertyReferenceBase propertyReference,
+                                                final Predicate<String> keyFilter,
+                                                final Predicate<Object> consumer) {
+        final Set<Object> variants = createVariantsSet();
+        final Set<Object> fileVariants = new LinkedHashSet<>();
+        final PropertiesFileProcessor processor = (baseName, propertiesFile) -> {
+            ProgressManager.checkCanceled();
+            for (IProperty property : getContentProperties(propertiesFile)) {
+                String key = property.getKey();
+                if (key == null || !keyFilter.test(key)) {
+                    continue;
+                }
+                fileVariants.clear();
+                propertyReference.addKey(property, fileVariants);
+                for (Object variant : fileVariants) {
+                    if (variants.add(variant) && !consumer.test(variant)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        };
+
+        List<PropertiesFile> propertiesFileList = propertyReference.getPropertiesFiles();
+        if (propertiesFileList == null) {
+            return PropertiesReferenceManager.getInstance(propertyReference.getElement().getProject()).processAllPropertiesFiles(processor);
+        }
+        for (PropertiesFile propFile : propertiesFileList) {
+            if (!processor.process(null, propFile)) {
+                return false;
+            }
         }
+        return true;
     }
 
     public static Set<Object> getPropertiesKeys(final PropertyReferenceBase propertyReference) {
-        final Set<Object> variants = new ObjectOpenCustomHashSet<>(new Hash.Strategy<>() {
+        final Set<Object> variants = createVariantsSet();
+        List<PropertiesFile> propertiesFileList = propertyReference.getPropertiesFiles();
+        if (propertiesFileList == null) {
+            PropertiesReferenceManager
+                .getInstance(propertyReference.getElement().getProject()).processAllPropertiesFilesConcurrently((baseName, propertiesFile) -> {
+                    // load properties in parallel, only merging into the shared set is serialized
+                    List<? extends IProperty> properties = getContentProperties(propertiesFile);
+                    synchronized (variants) {
+                        for (IProperty property : properties) {
+                            propertyReference.addKey(property, variants);
+                        }
+                    }
+                    return true;
+                });
+        }
+        else {
+            for (PropertiesFile propFile : propertiesFileList) {
+                addVariantsFromFile(propertyReference, propFile, variants);
+            }
+        }
+        return variants;
+    }
+
+    private static Set<Object> createVariantsSet() {
+        return new ObjectOpenCustomHashSet<>(new Hash.Strategy<>() {
             @Override
             public int hashCode(@Nullable Object object) {
                 if (object instanceof IProperty) {
@@ -54,19 +124,5 @@ public final class PropertiesPsiCompletionUtil {
                     Objects.equals(((IProperty) o1).getKey(), ((IProperty) o2).getKey());
             }
         });
-        List<PropertiesFile> propertiesFileList = propertyReference.getPropertiesFiles();
-        if (propertiesFileList == null) {
-            PropertiesReferenceManager
-                .getInstance(propertyReference.getElement().getProject()).processAllPropertiesFiles((baseName, propertiesFile) -> {
-                    addVariantsFromFile(propertyReference, propertiesFile, variants);
-                    return true;
-                });
-        }
-        else {
-            for (PropertiesFile propFile : propertiesFileList) {
-                addVariantsFromFile(propertyReference, propFile, variants);
-            }
-        }
-        return variants;
     }
 }
@@ -254,8 +254,18 @@ public class PropertyImpl extends PropertiesStubElementImpl<PropertyStub> implem
         if (s == null) {
             return null;
         }
-        int off = 0;
-        int len = s.length();
+        int startSpaces = trailingSpacesStart(s, 0, s.length());
+        return startSpaces == -1 ? null : new TextRange(startSpaces, s.length());
+    }
+
+    /**
+     * Same as {@link #trailingSpaces(String)} for the {@code [start, end)} part of {@code s}, without copying it.
+     *
+     * @return offset in {@code s} where the trailing spaces start, or -1 if there are none
+     */
+    public static int trailingSpacesStart(CharSequence s, int start, int end) {
+        int off = start;
+        int len = end;
         int startSpaces = -1;
 
         while (off < len) {
@@ -264,13 +274,18 @@ public class PropertyImpl extends PropertiesStubElementImpl<PropertyStub> implem
                 if (startSpaces == -1) {
                     startSpaces = off - 1;
                 }
+                if (off >= len) {
+                    // dangling backslash at the end is not a space
+                    startSpaces = -1;
+                    break;
+                }
                 aChar = s.charAt(off++);
                 if (aChar == 'u') {
                     // Read the xxxx
                     int value = 0;
                     boolean error = false;
                     for (int i = 0; i < 4; i++) {
-                        aChar = off < s.length() ? s.charAt(off++) : 0;
+                        aChar = off < len ? s.charAt(off++) : 0;
                         switch (aChar) {
                             case '0':
                             case '1':
@@ -301,11 +316,11 @@ public class PropertyImpl extends PropertiesStubElementImpl<PropertyStub> implem
                                 value = (value << 4) + 10 + aChar - 'A';
                                 break;
                             default:
-                                int start = off - i - 1;
-                                int end = start + 4 < s.length() ? start + 4 : s.length();
+                                int errorStart = off - i - 1;
+                                int errorEnd = errorStart + 4 < len ? errorStart + 4 : len;
                                 i = 4;
                                 error = true;
-                                off = end;
+                                off = errorEnd;
                                 startSpaces = -1;
                                 break;
                         }
@@ -369,7 +384,7 @@ public class PropertyImpl extends PropertiesStubElementImpl<PropertyStub> implem
                 }
             }
         }
-        return startSpaces == -1 ? null : new TextRange(startSpaces, len);
+        return startSpaces;
     }
 
     @Override
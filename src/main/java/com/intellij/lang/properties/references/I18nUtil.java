@@ -73,11 +73,15 @@ public class I18nUtil {
     }
   }
 
+  /**
+   * @return paths of the properties files in the project content, sorted alphabetically rather than in index order,
+   * since the files are scanned concurrently
+   */
   public static List<String> defaultGetPropertyFiles(Project project) {
-    final List<String> paths = new ArrayList<String>();
+    final List<String> paths = Collections.synchronizedList(new ArrayList<String>());
     final ProjectFileIndex projectFileIndex = ProjectRootManager.getInstance(project).getFileIndex();
 
-    PropertiesReferenceManager.getInstance(project).processAllPropertiesFiles(new PropertiesFileProcessor() {
+    PropertiesReferenceManager.getInstance(project).processAllPropertiesFilesConcurrently(new PropertiesFileProcessor() {
 
       @Override
       public boolean process(String baseName, PropertiesFile propertiesFile) {
@@ -89,6 +93,8 @@ public class I18nUtil {
         return true;
       }
     });
+    // files come back in no particular order from the concurrent scan
+    Collections.sort(paths);
     return paths;
   }
 }
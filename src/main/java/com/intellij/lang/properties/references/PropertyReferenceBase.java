@@ -23,6 +23,7 @@ import consulo.annotation.access.RequiredWriteAction;
 import consulo.document.util.TextRange;
 import consulo.language.pom.PomService;
 import consulo.language.psi.*;
+import consulo.language.psi.resolve.ResolveCache;
 import consulo.language.util.IncorrectOperationException;
 import consulo.localize.LocalizeValue;
 import consulo.logging.Logger;
@@ -32,6 +33,7 @@ import consulo.util.lang.Comparing;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -40,6 +42,9 @@ import java.util.Set;
  */
 public abstract class PropertyReferenceBase implements PsiPolyVariantReference, EmptyResolveMessageProvider {
   private static final Logger LOG = Logger.getInstance(PropertyReferenceBase.class);
+  private static final Comparator<PropertiesFile> FILE_NAME_COMPARATOR = (o1, o2) -> Comparing.compare(o1.getName(), o2.getName());
+  private static final ResolveCache.PolyVariantResolver<PropertyReferenceBase> RESOLVER =
+    (reference, incompleteCode) -> reference.doMultiResolve();
 
   protected final String myKey;
   protected final PsiElement myElement;
@@ -158,28 +163,41 @@ public abstract class PropertyReferenceBase implements PsiPolyVariantReference,
   @RequiredReadAction
   @Override
   public ResolveResult[] multiResolve(final boolean incompleteCode) {
+    return ResolveCache.getInstance(getElement().getProject()).resolveWithCaching(this, RESOLVER, false, incompleteCode);
+  }
+
+  @RequiredReadAction
+  protected ResolveResult[] doMultiResolve() {
     final String key = getKeyText();
 
     List<IProperty> properties;
     final List<PropertiesFile> propertiesFiles = getPropertiesFiles();
     if (propertiesFiles == null) {
       properties = PropertiesUtil.findPropertiesByKey(getElement().getProject(), key);
+      // put default properties file first
+      Lists.quickSort(properties, (o1, o2) -> FILE_NAME_COMPARATOR.compare(o1.getPropertiesFile(), o2.getPropertiesFile()));
     }
     else {
       properties = new ArrayList<IProperty>();
-      for (PropertiesFile propertiesFile : propertiesFiles) {
+      // bundle files usually come sorted from PropertiesReferenceManager, so this is just a check
+      for (PropertiesFile propertiesFile : sortedByName(propertiesFiles)) {
         properties.addAll(propertiesFile.findPropertiesByKey(key));
       }
     }
-    // put default properties file first
-    Lists.quickSort(properties, (o1, o2) -> {
-      String name1 = o1.getPropertiesFile().getName();
-      String name2 = o2.getPropertiesFile().getName();
-      return Comparing.compare(name1, name2);
-    });
     return getResolveResults(properties);
   }
 
+  private static List<PropertiesFile> sortedByName(List<PropertiesFile> files) {
+    for (int i = 1; i < files.size(); i++) {
+      if (FILE_NAME_COMPARATOR.compare(files.get(i - 1), files.get(i)) > 0) {
+        List<PropertiesFile> sorted = new ArrayList<PropertiesFile>(files);
+        Lists.quickSort(sorted, FILE_NAME_COMPARATOR);
+        return sorted;
+      }
+    }
+    return files;
+  }
+
   protected static ResolveResult[] getResolveResults(List<IProperty> properties) {
     if (properties.isEmpty()) return ResolveResult.EMPTY_ARRAY;
 
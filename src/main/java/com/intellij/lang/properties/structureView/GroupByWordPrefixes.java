@@ -15,17 +15,14 @@
  */
 package com.intellij.lang.properties.structureView;
 
-import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.PropertiesBundle;
-import com.intellij.lang.properties.editor.ResourceBundlePropertyStructureViewElement;
 import consulo.application.AllIcons;
 import consulo.fileEditor.structureView.tree.Group;
 import consulo.fileEditor.structureView.tree.TreeElement;
-import consulo.logging.Logger;
 import consulo.ui.ex.awt.tree.TreeNode;
-import consulo.util.lang.Comparing;
 import consulo.util.lang.StringUtil;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 /**
@@ -33,9 +30,10 @@ import java.util.*;
  */
 public class GroupByWordPrefixes implements consulo.fileEditor.structureView.tree.Grouper, consulo.fileEditor.structureView.tree.Sorter
 {
-	private static final Logger LOG = Logger.getInstance(GroupByWordPrefixes.class);
 	public static final String ID = "GROUP_BY_PREFIXES";
 	private String mySeparator;
+	private PropertiesPrefixTrie myTrie;
+	private WeakReference<Collection<TreeElement>> myTrieChildren;
 
 	public GroupByWordPrefixes(String separator)
 	{
@@ -54,142 +52,66 @@ public class GroupByWordPrefixes implements consulo.fileEditor.structureView.tre
 
 	public Collection<Group> group(final Object parent, Collection<TreeElement> children)
 	{
-		List<Key> keys = new ArrayList<Key>();
-
-		String parentPrefix;
-		int parentPrefixLength;
+		PropertiesPrefixTrie.Node node;
 		Object value = ((TreeNode) parent).getValue();
-		if(value instanceof PropertiesPrefixGroup)
+		if(value instanceof PropertiesPrefixGroup && ((PropertiesPrefixGroup) value).getSeparator().equals(mySeparator))
 		{
-			parentPrefix = ((PropertiesPrefixGroup) value).getPrefix();
-			parentPrefixLength = StringUtil.split(parentPrefix, mySeparator).size();
+			// the children of a group are the elements of its node
+			node = ((PropertiesPrefixGroup) value).getNode();
 		}
-		else
+		else if(value instanceof PropertiesPrefixGroup)
 		{
-			parentPrefix = "";
-			parentPrefixLength = 0;
+			node = getTrie(children).findNode(((PropertiesPrefixGroup) value).getPrefix());
 		}
-		for(TreeElement element : children)
+		else
 		{
-			String text = null;
-			if(element instanceof PropertiesStructureViewElement)
-			{
-				IProperty property = ((PropertiesStructureViewElement) element).getValue();
-				text = property.getUnescapedKey();
-			}
-			else if(element instanceof ResourceBundlePropertyStructureViewElement)
-			{
-				text = ((ResourceBundlePropertyStructureViewElement) element).getValue();
-			}
-			if(text == null)
-			{
-				continue;
-			}
-			LOG.assertTrue(text.startsWith(parentPrefix) || text.startsWith(mySeparator));
-			List<String> words = StringUtil.split(text, mySeparator);
-			keys.add(new Key(words, element));
+			node = getTrie(children).getRoot();
 		}
-		Collections.sort(keys, new Comparator<Key>()
-		{
-			public int compare(final Key k1, final Key k2)
-			{
-				List<String> o1 = k1.words;
-				List<String> o2 = k2.words;
-				for(int i = 0; i < Math.max(o1.size(), o2.size()); i++)
-				{
-					if(i == o1.size())
-					{
-						return 1;
-					}
-					if(i == o2.size())
-					{
-						return -1;
-					}
-					String s1 = o1.get(i);
-					String s2 = o2.get(i);
-					int res = s1.compareTo(s2);
-					if(res != 0)
-					{
-						return res;
-					}
-				}
-				return 0;
-			}
-		});
+		String parentPrefix = node.getPrefix();
+
 		List<Group> groups = new ArrayList<Group>();
-		int groupStart = 0;
-		for(int i = 0; i <= keys.size(); i++)
+		// below a group, the element whose key is the group prefix is a sibling of the group, not one of its children
+		for(TreeElement element : node.getElements())
 		{
-			if(!isEndOfGroup(i, keys, parentPrefixLength))
-			{
-				continue;
-			}
-			// find longest group prefix
-			List<String> firstKey = groupStart == keys.size() ? Collections.<String>emptyList() : keys.get(groupStart).words;
-			int prefixLen = firstKey.size();
-			for(int j = groupStart + 1; j < i; j++)
+			if(children.contains(element))
 			{
-				List<String> prevKey = keys.get(j - 1).words;
-				List<String> nextKey = keys.get(j).words;
-				for(int k = parentPrefixLength; k < prefixLen; k++)
-				{
-					String word = k < nextKey.size() ? nextKey.get(k) : null;
-					String wordInPrevKey = k < prevKey.size() ? prevKey.get(k) : null;
-					if(!Comparing.strEqual(word, wordInPrevKey))
-					{
-						prefixLen = k;
-						break;
-					}
-				}
+				PropertiesPrefixTrie.setPresentableName(element, "");
 			}
-			String[] strings = firstKey.subList(0, prefixLen).toArray(new String[prefixLen]);
-			String prefix = StringUtil.join(strings, mySeparator);
-			String presentableName = prefix.substring(parentPrefix.length());
-			presentableName = StringUtil.trimStart(presentableName, mySeparator);
-			if(i - groupStart > 1)
+		}
+		for(PropertiesPrefixTrie.Node child : node.getChildren())
+		{
+			if(child.getElementCount() > 1)
 			{
-				groups.add(new PropertiesPrefixGroup(children, prefix, presentableName, mySeparator));
+				PropertiesPrefixTrie.Node prefixNode = child.getLongestCommonPrefixNode();
+				groups.add(new PropertiesPrefixGroup(prefixNode, getPresentableName(prefixNode, parentPrefix), mySeparator));
 			}
-			else if(groupStart != keys.size())
+			else
 			{
-				TreeElement node = keys.get(groupStart).node;
-				if(node instanceof PropertiesStructureViewElement)
-				{
-					((PropertiesStructureViewElement) node).setPresentableName(presentableName);
-				}
-				else
-				{
-					((ResourceBundlePropertyStructureViewElement) node).setPresentableName(presentableName);
-				}
+				PropertiesPrefixTrie.Node elementNode = child.getSingleElementNode();
+				PropertiesPrefixTrie.setPresentableName(elementNode.getElements().get(0), getPresentableName(elementNode, parentPrefix));
 			}
-			groupStart = i;
 		}
 		return groups;
 	}
 
-	private static boolean isEndOfGroup(final int i,
-										final List<Key> keys,
-										final int parentPrefixLength)
+	private String getPresentableName(PropertiesPrefixTrie.Node node, String parentPrefix)
 	{
-		if(i == keys.size())
-		{
-			return true;
-		}
-		if(i == 0)
-		{
-			return false;
-		}
-		List<String> words = keys.get(i).words;
-		List<String> prevWords = keys.get(i - 1).words;
-		if(prevWords.size() == parentPrefixLength)
-		{
-			return true;
-		}
-		if(words.size() == parentPrefixLength)
+		return StringUtil.trimStart(node.getPrefix().substring(parentPrefix.length()), mySeparator);
+	}
+
+	/**
+	 * The keys of the top level elements are split once per structure rebuild, groups below keep their trie node.
+	 */
+	private PropertiesPrefixTrie getTrie(Collection<TreeElement> children)
+	{
+		PropertiesPrefixTrie trie = myTrie;
+		if(trie == null || myTrieChildren.get() != children || !trie.getSeparator().equals(mySeparator))
 		{
-			return true;
+			trie = new PropertiesPrefixTrie(children, mySeparator);
+			myTrie = trie;
+			myTrieChildren = new WeakReference<Collection<TreeElement>>(children);
 		}
-		return !Comparing.strEqual(words.get(parentPrefixLength), prevWords.get(parentPrefixLength));
+		return trie;
 	}
 
 	public consulo.fileEditor.structureView.tree.ActionPresentation getPresentation()
@@ -216,16 +138,4 @@ public class GroupByWordPrefixes implements consulo.fileEditor.structureView.tre
 		return true;
 	}
 
-	private static class Key
-	{
-		final List<String> words;
-		final TreeElement node;
-
-		public Key(final List<String> words, final TreeElement node)
-		{
-			this.words = words;
-			this.node = node;
-		}
-	}
-
 }
@@ -24,27 +24,44 @@ import consulo.language.icon.IconDescriptorUpdaters;
 import consulo.navigation.ItemPresentation;
 import consulo.ui.image.Image;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author max
  */
 public class PropertiesFileStructureViewElement extends PsiTreeElementBase<PropertiesFileImpl> {
 
+  private List<? extends IProperty> myChildrenProperties;
+  private List<StructureViewTreeElement> myChildren = Collections.emptyList();
+
   protected PropertiesFileStructureViewElement(PropertiesFileImpl propertiesFile) {
     super(propertiesFile);
   }
 
-  public Collection<StructureViewTreeElement> getChildrenBase() {
+  public synchronized Collection<StructureViewTreeElement> getChildrenBase() {
     List<? extends IProperty> properties = getElement().getProperties();
-
-    Collection<StructureViewTreeElement> elements = new ArrayList<StructureViewTreeElement>(properties.size());
-    for (IProperty property : properties) {
-      elements.add(new PropertiesStructureViewElement((Property)property));
+    // the file keeps its property list until it is changed, the elements are kept as long as their property is there
+    if (properties != myChildrenProperties) {
+      Map<Property, PropertiesStructureViewElement> previous = new IdentityHashMap<Property, PropertiesStructureViewElement>();
+      for (StructureViewTreeElement child : myChildren) {
+        PropertiesStructureViewElement element = (PropertiesStructureViewElement)child;
+        previous.put(element.getValue(), element);
+      }
+      List<StructureViewTreeElement> elements = new ArrayList<StructureViewTreeElement>(properties.size());
+      for (IProperty property : properties) {
+        PropertiesStructureViewElement element = previous.get(property);
+        if (element == null) {
+          element = new PropertiesStructureViewElement((Property)property);
+        }
+        else {
+          element.setPresentableName(null);
+        }
+        elements.add(element);
+      }
+      myChildrenProperties = properties;
+      myChildren = Collections.unmodifiableList(elements);
     }
-    return elements;
+    return myChildren;
   }
 
   public String getPresentableText() {
@@ -36,6 +36,7 @@ import java.util.Comparator;
 public class PropertiesFileStructureViewModel extends TextEditorBasedStructureViewModel implements PropertiesGroupingStructureViewModel {
   private final PropertiesFileImpl myPropertiesFile;
   private final GroupByWordPrefixes myGroupByWordPrefixes;
+  private final PropertiesFileStructureViewElement myRoot;
   public static final String KIND_SORTER_ID = "KIND_SORTER";
   private static final Sorter KIND_SORTER = new Sorter() {
     public Comparator getComparator() {
@@ -65,6 +66,7 @@ public class PropertiesFileStructureViewModel extends TextEditorBasedStructureVi
   public PropertiesFileStructureViewModel(final PropertiesFileImpl root) {
     super(root);
     myPropertiesFile = root;
+    myRoot = new PropertiesFileStructureViewElement(root);
     String separator = PropertiesSeparatorManager.getInstance().getSeparator(root.getProject(), root.getVirtualFile());
     myGroupByWordPrefixes = new GroupByWordPrefixes(separator);
   }
@@ -79,7 +81,8 @@ public class PropertiesFileStructureViewModel extends TextEditorBasedStructureVi
   }
 
   public StructureViewTreeElement getRoot() {
-    return new PropertiesFileStructureViewElement(myPropertiesFile);
+    // keeps its children between rebuilds
+    return myRoot;
   }
 
   public Grouper[] getGroupers() {
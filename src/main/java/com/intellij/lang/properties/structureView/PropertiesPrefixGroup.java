@@ -15,39 +15,57 @@
  */
 package com.intellij.lang.properties.structureView;
 
-import com.intellij.lang.properties.IProperty;
-import com.intellij.lang.properties.editor.ResourceBundlePropertyStructureViewElement;
 import consulo.fileEditor.structureView.tree.Group;
 import consulo.fileEditor.structureView.tree.TreeElement;
 import consulo.navigation.ItemPresentation;
 import consulo.platform.base.icon.PlatformIconGroup;
 import consulo.ui.image.Image;
-import consulo.util.lang.Comparing;
 import consulo.util.lang.StringUtil;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
 
 /**
  * @author cdr
  */
 public class PropertiesPrefixGroup implements Group
 {
-  private final Collection<TreeElement> myProperties;
+  private final PropertiesPrefixTrie.Node myNode;
   private final 
   String myPrefix;
   private final String myPresentableName;
   private final 
   String mySeparator;
 
+  /**
+   * Groups the given elements whose keys start with the words of the prefix. The keys are split here,
+   * {@link GroupByWordPrefixes} creates its groups from a trie shared by the whole level instead.
+   */
   public PropertiesPrefixGroup(final Collection<TreeElement> properties, String prefix, String presentableName, final String separator) {
-    myProperties = properties;
+    this(findNode(properties, prefix, separator), prefix, presentableName, separator);
+  }
+
+  PropertiesPrefixGroup(final PropertiesPrefixTrie.Node node, String presentableName, final String separator) {
+    this(node, node.getPrefix(), presentableName, separator);
+  }
+
+  private PropertiesPrefixGroup(final PropertiesPrefixTrie.Node node, String prefix, String presentableName, final String separator) {
+    myNode = node;
     myPrefix = prefix;
     myPresentableName = presentableName;
     mySeparator = separator;
   }
 
+  private static PropertiesPrefixTrie.Node findNode(Collection<TreeElement> properties, String prefix, String separator) {
+    PropertiesPrefixTrie trie = new PropertiesPrefixTrie(properties, separator);
+    PropertiesPrefixTrie.Node node = trie.findNode(prefix);
+    if (node == trie.getRoot() && !StringUtil.split(prefix, separator).isEmpty()) {
+      // no key starts with the prefix
+      return new PropertiesPrefixTrie(Collections.<TreeElement>emptyList(), separator).getRoot();
+    }
+    return node;
+  }
+
   public ItemPresentation getPresentation() {
     return new ItemPresentation() {
       public String getPresentableText() {
@@ -65,69 +83,33 @@ public class PropertiesPrefixGroup implements Group
   }
 
   public Collection<TreeElement> getChildren() {
-    Collection<TreeElement> result = new ArrayList<TreeElement>();
-    List<String> prefixWords = StringUtil.split(myPrefix, mySeparator);
-    for (TreeElement treeElement : myProperties) {
-      String key;
-      if (treeElement instanceof PropertiesStructureViewElement) {
-        PropertiesStructureViewElement propertiesElement = (PropertiesStructureViewElement)treeElement;
-        IProperty property = propertiesElement.getValue();
-
-        key = property.getUnescapedKey();
-      }
-      else if (treeElement instanceof ResourceBundlePropertyStructureViewElement) {
-        key = ((ResourceBundlePropertyStructureViewElement)treeElement).getValue();
-      }
-      else {
-        continue;
-      }
-
-      if (key == null || key.equals(myPrefix)) {
-        continue;
-      }
-      List<String> keyWords = StringUtil.split(key, mySeparator);
-      boolean startsWith = prefixWords.size() < keyWords.size();
-      if (startsWith) {
-        for (int i = 0; i < prefixWords.size(); i++) {
-          String prefixWord = prefixWords.get(i);
-          String keyWord = keyWords.get(i);
-          if (!Comparing.strEqual(keyWord, prefixWord)) {
-            startsWith = false;
-            break;
-          }
-        }
-      }
-      if (startsWith) {
-        result.add(treeElement);
-        String presentableName = key.substring(myPrefix.length());
-        presentableName = StringUtil.trimStart(presentableName, mySeparator);
-        if (treeElement instanceof PropertiesStructureViewElement) {
-          ((PropertiesStructureViewElement)treeElement).setPresentableName(presentableName);
-        }
-        if (treeElement instanceof ResourceBundlePropertyStructureViewElement) {
-          ((ResourceBundlePropertyStructureViewElement)treeElement).setPresentableName(presentableName);
-        }
-      }
-    }
-    return result;
+    return myNode.getDescendants(mySeparator);
   }
 
   public String getPrefix() {
     return myPrefix;
   }
 
+  PropertiesPrefixTrie.Node getNode() {
+    return myNode;
+  }
+
+  String getSeparator() {
+    return mySeparator;
+  }
+
   public boolean equals(final Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
 
     final PropertiesPrefixGroup group = (PropertiesPrefixGroup)o;
 
-    if (!myPrefix.equals(group.myPrefix)) return false;
+    if (!getPrefix().equals(group.getPrefix())) return false;
 
     return true;
   }
 
   public int hashCode() {
-    return myPrefix.hashCode();
+    return getPrefix().hashCode();
   }
 }
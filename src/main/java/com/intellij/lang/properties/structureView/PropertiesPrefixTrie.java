@@ -0,0 +1,256 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.structureView;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.editor.ResourceBundlePropertyStructureViewElement;
+import consulo.fileEditor.structureView.tree.TreeElement;
+import consulo.util.lang.StringUtil;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Property keys of the structure view elements of a file or bundle, split into words by the separator.
+ * <p>
+ * Every key is split once when the trie is built for the top level elements. {@link PropertiesPrefixGroup}s keep
+ * their node, so grouping and expanding them reads the trie instead of splitting and comparing keys again.
+ */
+class PropertiesPrefixTrie
+{
+	private final String mySeparator;
+	private final Node myRoot = new Node("");
+
+	PropertiesPrefixTrie(Collection<TreeElement> elements, String separator)
+	{
+		mySeparator = separator;
+		for(TreeElement element : elements)
+		{
+			String key = getKey(element);
+			if(key != null)
+			{
+				add(element, key);
+			}
+		}
+	}
+
+	String getSeparator()
+	{
+		return mySeparator;
+	}
+
+	Node getRoot()
+	{
+		return myRoot;
+	}
+
+	/**
+	 * @return node of the prefix words, or the root if there are no keys with that prefix
+	 */
+	Node findNode(String prefix)
+	{
+		Node node = myRoot;
+		for(String word : StringUtil.split(prefix, mySeparator))
+		{
+			Node child = node.myChildren == null ? null : node.myChildren.get(word);
+			if(child == null)
+			{
+				return myRoot;
+			}
+			node = child;
+		}
+		return node;
+	}
+
+	@Nullable
+	static String getKey(TreeElement element)
+	{
+		if(element instanceof PropertiesStructureViewElement)
+		{
+			IProperty property = ((PropertiesStructureViewElement) element).getValue();
+			return property.getUnescapedKey();
+		}
+		if(element instanceof ResourceBundlePropertyStructureViewElement)
+		{
+			return ((ResourceBundlePropertyStructureViewElement) element).getValue();
+		}
+		return null;
+	}
+
+	private void add(TreeElement element, String key)
+	{
+		Node node = myRoot;
+		node.myElementCount++;
+		// same words as StringUtil.split(key, separator), empty words are skipped
+		int start = 0;
+		while(start <= key.length())
+		{
+			int end = mySeparator.isEmpty() ? -1 : key.indexOf(mySeparator, start);
+			if(end < 0)
+			{
+				end = key.length();
+			}
+			if(end > start)
+			{
+				node = node.getOrCreateChild(key.substring(start, end), mySeparator);
+				node.myElementCount++;
+			}
+			start = end + Math.max(mySeparator.length(), 1);
+		}
+		node.addElement(element, key);
+	}
+
+	static class Node
+	{
+		// the words up to this node joined by the separator
+		private final String myPrefix;
+		@Nullable
+		private Map<String, Node> myChildren;
+		// elements whose key ends at this node, and their keys
+		@Nullable
+		private List<TreeElement> myElements;
+		@Nullable
+		private List<String> myKeys;
+		private int myElementCount;
+		@Nullable
+		private List<TreeElement> myDescendants;
+		@Nullable
+		private String[] myDescendantNames;
+
+		private Node(String prefix)
+		{
+			myPrefix = prefix;
+		}
+
+		private Node getOrCreateChild(String word, String separator)
+		{
+			if(myChildren == null)
+			{
+				myChildren = new HashMap<String, Node>();
+			}
+			Node child = myChildren.get(word);
+			if(child == null)
+			{
+				child = new Node(myPrefix.isEmpty() ? word : myPrefix + separator + word);
+				myChildren.put(word, child);
+			}
+			return child;
+		}
+
+		private void addElement(TreeElement element, String key)
+		{
+			if(myElements == null)
+			{
+				myElements = new ArrayList<TreeElement>(1);
+				myKeys = new ArrayList<String>(1);
+			}
+			myElements.add(element);
+			myKeys.add(key);
+		}
+
+		String getPrefix()
+		{
+			return myPrefix;
+		}
+
+		/**
+		 * @return number of elements whose key starts with the words of this node
+		 */
+		int getElementCount()
+		{
+			return myElementCount;
+		}
+
+		Collection<Node> getChildren()
+		{
+			return myChildren == null ? Collections.<Node>emptyList() : myChildren.values();
+		}
+
+		List<TreeElement> getElements()
+		{
+			return myElements == null ? Collections.<TreeElement>emptyList() : myElements;
+		}
+
+		/**
+		 * @return the node of the longest prefix shared by all keys below this node
+		 */
+		Node getLongestCommonPrefixNode()
+		{
+			Node node = this;
+			while(node.myElements == null && node.myChildren != null && node.myChildren.size() == 1)
+			{
+				node = node.myChildren.values().iterator().next();
+			}
+			return node;
+		}
+
+		/**
+		 * @return the node of the only key below this node, assuming there is exactly one
+		 */
+		Node getSingleElementNode()
+		{
+			Node node = this;
+			while(node.myElements == null && node.myChildren != null && !node.myChildren.isEmpty())
+			{
+				node = node.myChildren.values().iterator().next();
+			}
+			return node;
+		}
+
+		/**
+		 * Elements whose key is longer than this prefix, named relative to the prefix. Collected on the first call only.
+		 */
+		List<TreeElement> getDescendants(String separator)
+		{
+			if(myDescendants == null)
+			{
+				List<TreeElement> descendants = new ArrayList<TreeElement>(myElementCount);
+				List<String> names = new ArrayList<String>(myElementCount);
+				Deque<Node> toVisit = new ArrayDeque<Node>(getChildren());
+				while(!toVisit.isEmpty())
+				{
+					Node node = toVisit.pop();
+					List<TreeElement> elements = node.getElements();
+					for(int i = 0; i < elements.size(); i++)
+					{
+						descendants.add(elements.get(i));
+						names.add(StringUtil.trimStart(node.myKeys.get(i).substring(myPrefix.length()), separator));
+					}
+					toVisit.addAll(node.getChildren());
+				}
+				myDescendants = descendants;
+				myDescendantNames = names.toArray(new String[names.size()]);
+			}
+			for(int i = 0; i < myDescendantNames.length; i++)
+			{
+				setPresentableName(myDescendants.get(i), myDescendantNames[i]);
+			}
+			return myDescendants;
+		}
+	}
+
+	static void setPresentableName(TreeElement element, String presentableName)
+	{
+		if(element instanceof PropertiesStructureViewElement)
+		{
+			((PropertiesStructureViewElement) element).setPresentableName(presentableName);
+		}
+		else if(element instanceof ResourceBundlePropertyStructureViewElement)
+		{
+			((ResourceBundlePropertyStructureViewElement) element).setPresentableName(presentableName);
+		}
+	}
+}
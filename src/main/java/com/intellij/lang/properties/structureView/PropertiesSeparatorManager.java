@@ -29,24 +29,25 @@ import consulo.annotation.component.ComponentScope;
 import consulo.annotation.component.ServiceAPI;
 import consulo.annotation.component.ServiceImpl;
 import consulo.application.Application;
+import consulo.application.util.CachedValue;
+import consulo.application.util.CachedValueProvider;
+import consulo.application.util.CachedValuesManager;
 import consulo.component.persist.PersistentStateComponent;
 import consulo.component.persist.State;
 import consulo.component.persist.Storage;
 import consulo.component.persist.StoragePathMacros;
 import consulo.language.file.FileViewProvider;
+import consulo.language.psi.PsiFile;
 import consulo.language.psi.PsiManager;
 import consulo.project.Project;
 import consulo.util.collection.ContainerUtil;
-import consulo.util.collection.primitive.ints.IntMaps;
-import consulo.util.collection.primitive.ints.IntObjectMap;
+import consulo.util.dataholder.Key;
 import consulo.virtualFileSystem.VirtualFile;
-import consulo.virtualFileSystem.VirtualFileManager;
 import jakarta.inject.Singleton;
 import org.jdom.Element;
 
 import org.jspecify.annotations.Nullable;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 @Singleton
 @State(name = "PropertiesSeparatorManager",
@@ -61,21 +62,31 @@ public class PropertiesSeparatorManager implements PersistentStateComponent<Elem
 	private static final String FILE_ELEMENT = "file";
 	private static final String URL_ELEMENT = "url";
 	private static final String SEPARATOR_ATTR = "separator";
+	private static final int MAX_SEPARATORS = 1000;
+	private static final int SAMPLE_SIZE = 1000;
+	private static final Key<CachedValue<KeyCharCounts>> KEY_CHAR_COUNTS_KEY = Key.create("properties.key.char.counts");
 
 	public static PropertiesSeparatorManager getInstance()
 	{
 		return Application.get().getInstance(PropertiesSeparatorManager.class);
 	}
 
-	private final Map<VirtualFile, String> mySeparators = new HashMap<VirtualFile, String>();
+	// separators chosen by the user, by file or bundle url, the least recently used ones are dropped first
+	private final Map<String, String> mySeparators = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+		{
+			return size() > MAX_SEPARATORS;
+		}
+	});
 
 	public String getSeparator(Project project, VirtualFile file)
 	{
-		String separator = mySeparators.get(file);
+		String separator = mySeparators.get(getUrl(file));
 		if(separator == null)
 		{
 			separator = guessSeparator(project, file);
-			setSeparator(file, separator);
 		}
 		return separator;
 	}
@@ -98,62 +109,139 @@ public class PropertiesSeparatorManager implements PersistentStateComponent<Elem
 				ContainerUtil.addIfNotNull(files, (PropertiesFile) provider.getPsi(PropertiesLanguage.INSTANCE));
 			}
 		}
-		final IntObjectMap<AtomicLong> charCounts = IntMaps.newIntObjectHashMap();
+		// the locales of a bundle mostly share their keys, so the first files give a big enough sample
+		KeyCharCounts counts = new KeyCharCounts();
 		for(PropertiesFile propertiesFile : files)
 		{
-			if(propertiesFile == null)
+			if(counts.mySampledKeys >= SAMPLE_SIZE)
 			{
-				continue;
+				break;
 			}
+			if(propertiesFile != null)
+			{
+				counts.add(getKeyCharCounts(propertiesFile));
+			}
+		}
+		return Character.toString(counts.getMostFrequent('.'));
+	}
+
+	private static KeyCharCounts getKeyCharCounts(final PropertiesFile propertiesFile)
+	{
+		final PsiFile psiFile = propertiesFile.getContainingFile();
+		return CachedValuesManager.getManager(psiFile.getProject()).getCachedValue(psiFile, KEY_CHAR_COUNTS_KEY, () ->
+		{
+			KeyCharCounts counts = new KeyCharCounts();
 			List<IProperty> properties = propertiesFile.getProperties();
-			for(IProperty property : properties)
+			// evenly spread sample of the keys
+			int step = Math.max(1, properties.size() / SAMPLE_SIZE);
+			for(int i = 0; i < properties.size() && counts.mySampledKeys < SAMPLE_SIZE; i += step)
 			{
-				String key = property.getUnescapedKey();
-				if(key == null)
+				String key = properties.get(i).getUnescapedKey();
+				if(key != null)
 				{
-					continue;
+					counts.addKey(key);
 				}
-				for(int i = 0; i < key.length(); i++)
-				{
-					char c = key.charAt(i);
-					if(!Character.isLetterOrDigit(c))
-					{
-						AtomicLong value = charCounts.get(c);
-						if(value == null)
-						{
-							charCounts.put(c, value = new AtomicLong());
-						}
+			}
+			return CachedValueProvider.Result.create(counts, psiFile);
+		}, false);
+	}
 
-						value.incrementAndGet();
-					}
+	/**
+	 * Number of occurrences of every non-alphanumeric character in the sampled keys.
+	 */
+	private static final class KeyCharCounts
+	{
+		private final int[] myLatinCounts = new int[256];
+		// the rare other characters, searched linearly
+		private char[] myOtherChars = new char[0];
+		private int[] myOtherCounts = new int[0];
+		private int mySampledKeys;
+
+		private void addKey(String key)
+		{
+			for(int i = 0; i < key.length(); i++)
+			{
+				char c = key.charAt(i);
+				if(!Character.isLetterOrDigit(c))
+				{
+					add(c, 1);
 				}
 			}
+			mySampledKeys++;
 		}
 
-		long count = -1;
-		final char[] mostProbableChar = new char[]{'.'};
-		for(IntObjectMap.IntObjectEntry<AtomicLong> entry : charCounts.entrySet())
+		private void add(KeyCharCounts counts)
 		{
-			int ch = entry.getKey();
+			for(int c = 0; c < counts.myLatinCounts.length; c++)
+			{
+				myLatinCounts[c] += counts.myLatinCounts[c];
+			}
+			for(int i = 0; i < counts.myOtherChars.length; i++)
+			{
+				add(counts.myOtherChars[i], counts.myOtherCounts[i]);
+			}
+			mySampledKeys += counts.mySampledKeys;
+		}
 
-			long charCount = entry.getValue().get();
-			if(charCount > count)
+		private void add(char c, int count)
+		{
+			if(c < myLatinCounts.length)
 			{
-				count = charCount;
-				mostProbableChar[0] = (char) ch;
+				myLatinCounts[c] += count;
+				return;
 			}
+			for(int i = 0; i < myOtherChars.length; i++)
+			{
+				if(myOtherChars[i] == c)
+				{
+					myOtherCounts[i] += count;
+					return;
+				}
+			}
+			myOtherChars = Arrays.copyOf(myOtherChars, myOtherChars.length + 1);
+			myOtherCounts = Arrays.copyOf(myOtherCounts, myOtherCounts.length + 1);
+			myOtherChars[myOtherChars.length - 1] = c;
+			myOtherCounts[myOtherCounts.length - 1] = count;
 		}
 
-		if(mostProbableChar[0] == 0)
+		private char getMostFrequent(char defaultChar)
 		{
-			mostProbableChar[0] = '.';
+			char result = defaultChar;
+			int max = 0;
+			// the zero char is never a separator
+			for(int c = 1; c < myLatinCounts.length; c++)
+			{
+				if(myLatinCounts[c] > max)
+				{
+					max = myLatinCounts[c];
+					result = (char) c;
+				}
+			}
+			for(int i = 0; i < myOtherChars.length; i++)
+			{
+				if(myOtherCounts[i] > max)
+				{
+					max = myOtherCounts[i];
+					result = myOtherChars[i];
+				}
+			}
+			return result;
 		}
-		return Character.toString(mostProbableChar[0]);
 	}
 
 	public void setSeparator(VirtualFile file, String separator)
 	{
-		mySeparators.put(file, separator);
+		mySeparators.put(getUrl(file), separator);
+	}
+
+	private static String getUrl(VirtualFile file)
+	{
+		if(file instanceof ResourceBundleAsVirtualFile)
+		{
+			ResourceBundle resourceBundle = ((ResourceBundleAsVirtualFile) file).getResourceBundle();
+			return ((ResourceBundleImpl) resourceBundle).getUrl();
+		}
+		return file.getUrl();
 	}
 
 	public void loadState(final Element element)
@@ -168,20 +256,8 @@ public class PropertiesSeparatorManager implements PersistentStateComponent<Elem
 			{
 				continue;
 			}
-			VirtualFile file;
-			ResourceBundle resourceBundle = ResourceBundleImpl.createByUrl(url);
-			if(resourceBundle != null)
-			{
-				file = new ResourceBundleAsVirtualFile(resourceBundle);
-			}
-			else
-			{
-				file = VirtualFileManager.getInstance().findFileByUrl(url);
-			}
-			if(file != null)
-			{
-				mySeparators.put(file, separator);
-			}
+			// kept by url, so loading does not look up the files
+			mySeparators.put(url, separator);
 		}
 	}
 
@@ -223,19 +299,15 @@ public class PropertiesSeparatorManager implements PersistentStateComponent<Elem
 	public Element getState()
 	{
 		Element element = new Element("PropertiesSeparatorManager");
-		for(VirtualFile file : mySeparators.keySet())
+		Map<String, String> separators;
+		synchronized(mySeparators)
 		{
-			String url;
-			if(file instanceof ResourceBundleAsVirtualFile)
-			{
-				ResourceBundle resourceBundle = ((ResourceBundleAsVirtualFile) file).getResourceBundle();
-				url = ((ResourceBundleImpl) resourceBundle).getUrl();
-			}
-			else
-			{
-				url = file.getUrl();
-			}
-			String separator = mySeparators.get(file);
+			separators = new LinkedHashMap<String, String>(mySeparators);
+		}
+		for(Map.Entry<String, String> entry : separators.entrySet())
+		{
+			String url = entry.getKey();
+			String separator = entry.getValue();
 			StringBuilder encoded = new StringBuilder(separator.length());
 			for(int i = 0; i < separator.length(); i++)
 			{
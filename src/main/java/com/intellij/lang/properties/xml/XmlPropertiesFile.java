@@ -64,7 +64,13 @@ public class XmlPropertiesFile extends UserDataHolderBase implements PropertiesF
 	{
 		CachedValuesManager manager = CachedValuesManager.getManager(file.getProject());
 		return manager.getCachedValue(file, KEY, () -> {
-			PropertiesFile value = !XmlPropertiesIndex.isAccepted(file.getText()) ? null : new XmlPropertiesFile(file);
+			boolean accepted = XmlPropertiesIndex.isAccepted(file.getText());
+			VirtualFile virtualFile = file.getVirtualFile();
+			if(virtualFile != null)
+			{
+				XmlPropertiesFileRegistry.getInstance(file.getProject()).setAccepted(virtualFile, accepted);
+			}
+			PropertiesFile value = accepted ? new XmlPropertiesFile(file) : null;
 			return CachedValueProvider.Result.create(value, file);
 		}, false);
 	}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.xml;
+
+import consulo.annotation.component.ComponentScope;
+import consulo.annotation.component.ServiceAPI;
+import consulo.annotation.component.ServiceImpl;
+import consulo.component.persist.PersistentStateComponent;
+import consulo.component.persist.State;
+import consulo.component.persist.Storage;
+import consulo.component.persist.StoragePathMacros;
+import consulo.language.psi.scope.GlobalSearchScope;
+import consulo.project.Project;
+import consulo.virtualFileSystem.VirtualFile;
+import consulo.virtualFileSystem.VirtualFileManager;
+import consulo.virtualFileSystem.event.VirtualFileAdapter;
+import consulo.virtualFileSystem.event.VirtualFileEvent;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.jdom.Element;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which xml files were seen to be properties files, so they can be found while
+ * {@link XmlPropertiesIndex} is not available. Filled from the index and from content checks
+ * in {@link XmlPropertiesFile#getPropertiesFile}, and persisted between sessions.
+ */
+@Singleton
+@State(name = "XmlPropertiesFileRegistry", storages = {@Storage(file = StoragePathMacros.WORKSPACE_FILE)})
+@ServiceAPI(ComponentScope.PROJECT)
+@ServiceImpl
+public class XmlPropertiesFileRegistry implements PersistentStateComponent<Element> {
+    private static final String FILE_ELEMENT = "file";
+    private static final String URL_ATTR = "url";
+    private static final int HEADER_SIZE = 8192;
+
+    private final Set<VirtualFile> myFiles = ConcurrentHashMap.newKeySet();
+    // urls loaded from the previous session which were not resolved to files yet
+    private final Set<String> myPendingUrls = ConcurrentHashMap.newKeySet();
+
+    public static XmlPropertiesFileRegistry getInstance(Project project) {
+        return project.getInstance(XmlPropertiesFileRegistry.class);
+    }
+
+    @Inject
+    public XmlPropertiesFileRegistry(Project project) {
+        VirtualFileManager.getInstance().addVirtualFileListener(new VirtualFileAdapter() {
+            @Override
+            public void fileDeleted(VirtualFileEvent event) {
+                // a deleted directory invalidates the files below it as well
+                if (!myFiles.isEmpty()) {
+                    myFiles.removeIf(file -> !file.isValid());
+                }
+            }
+        }, project);
+    }
+
+    public void setAccepted(VirtualFile file, boolean accepted) {
+        // called for every lookup, so the sets are only written when the state of the file changes
+        if (accepted) {
+            if (!myFiles.contains(file)) {
+                myFiles.add(file);
+            }
+        }
+        else {
+            myFiles.remove(file);
+            if (!myPendingUrls.isEmpty()) {
+                myPendingUrls.remove(file.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Re-checks an xml file whose content has changed.
+     *
+     * @return whether the file started or stopped being a properties file
+     */
+    public boolean contentsChanged(VirtualFile file) {
+        boolean wasAccepted = myFiles.contains(file) || myPendingUrls.contains(file.getUrl());
+        boolean accepted = isAccepted(file);
+        if (accepted != wasAccepted) {
+            setAccepted(file, accepted);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isAccepted(VirtualFile file) {
+        // the root element decides, so only the beginning of the file is read
+        byte[] bytes = new byte[HEADER_SIZE];
+        int length = 0;
+        try (InputStream stream = file.getInputStream()) {
+            int read;
+            while (length < bytes.length && (read = stream.read(bytes, length, bytes.length - length)) > 0) {
+                length += read;
+            }
+        }
+        catch (IOException e) {
+            return false;
+        }
+        return XmlPropertiesIndex.isAccepted(new String(bytes, 0, length, file.getCharset()));
+    }
+
+    public List<VirtualFile> getFiles(GlobalSearchScope scope) {
+        resolvePendingUrls();
+
+        List<VirtualFile> result = new ArrayList<>();
+        for (VirtualFile file : myFiles) {
+            if (!file.isValid()) {
+                myFiles.remove(file);
+            }
+            else if (scope.contains(file)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves the urls of the previous session to the files set, the urls of deleted files are dropped.
+     */
+    private void resolvePendingUrls() {
+        if (!myPendingUrls.isEmpty()) {
+            VirtualFileManager virtualFileManager = VirtualFileManager.getInstance();
+            for (String url : myPendingUrls) {
+                VirtualFile file = virtualFileManager.findFileByUrl(url);
+                if (file != null) {
+                    myFiles.add(file);
+                }
+                myPendingUrls.remove(url);
+            }
+        }
+    }
+
+    @Override
+    public Element getState() {
+        resolvePendingUrls();
+        myFiles.removeIf(file -> !file.isValid());
+
+        Element element = new Element("state");
+        for (VirtualFile file : myFiles) {
+            element.addContent(new Element(FILE_ELEMENT).setAttribute(URL_ATTR, file.getUrl()));
+        }
+        return element;
+    }
+
+    @Override
+    public void loadState(Element state) {
+        myPendingUrls.clear();
+        for (Element fileElement : state.getChildren(FILE_ELEMENT)) {
+            String url = fileElement.getAttributeValue(URL_ATTR);
+            if (url != null) {
+                myPendingUrls.add(url);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.intellij.lang.properties;
+
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+import consulo.codeEditor.Editor;
+import consulo.ui.ex.action.IdeActions;
+
+public abstract class PropertiesJoinLinesTest extends LightPlatformCodeInsightFixtureTestCase {
+  private static final int LINE_COUNT = 10000;
+
+  public void testJoinContinuationLinesPerformance() throws Exception {
+    StringBuilder text = new StringBuilder("first=value\n");
+    text.append("long.value=");
+    for (int i = 0; i < LINE_COUNT; i++) {
+      text.append("part").append(i).append(" \\\n  ");
+    }
+    text.append("end\n");
+    text.append("last=value\n");
+    myFixture.configureByText("big.properties", text.toString());
+
+    Editor editor = myFixture.getEditor();
+    final int start = editor.getDocument().getLineStartOffset(1);
+    final int end = editor.getDocument().getLineEndOffset(LINE_COUNT + 1);
+    PlatformTestUtil.startPerformanceTest("joining " + LINE_COUNT + " continuation lines", 10000, () -> {
+      myFixture.getEditor().getSelectionModel().setSelection(start, end);
+      myFixture.performEditorAction(IdeActions.ACTION_EDITOR_JOIN_LINES);
+    }).assertTiming();
+
+    String result = myFixture.getEditor().getDocument().getText();
+    assertEquals(3, myFixture.getEditor().getDocument().getLineCount() - 1);
+    assertFalse(result.contains("\\"));
+    assertTrue(result.startsWith("first=value\nlong.value=part0"));
+    assertTrue(result.endsWith("end\nlast=value\n"));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+/**
+ * Compares the codec with the {@code String.format} based conversions it replaced. Not a test: wall clock timings
+ * are too noisy to assert on and JMH is not available in this build, so run {@link #main} by hand and read the output.
+ */
+public class Native2AsciiCodecBenchmark {
+  private static final int ROUNDS = 5;
+  private static final int ITERATIONS = 20;
+
+  public static void main(String[] args) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      builder.append("Привет, мир 你好世界 ");
+    }
+    String text = builder.toString();
+    String escaped = formatEscape(text);
+
+    // the first rounds only warm up
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        formatEscape(text);
+        formatUnescape(escaped);
+      }
+      long formatTime = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        ResourceBundleUtil.fromValueEditorToPropertyValue(text);
+        ResourceBundleUtil.fromPropertyValueToValueEditor(escaped);
+      }
+      long editorTime = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        Native2AsciiCodec.encode(text);
+        Native2AsciiCodec.decode(escaped);
+      }
+      long codecTime = System.nanoTime() - start;
+
+      System.out.printf("round %d: String.format %d us, ResourceBundleUtil %d us, codec %d us%n",
+                        round, formatTime / 1000, editorTime / 1000, codecTime / 1000);
+    }
+  }
+
+  /**
+   * The conversions used before the codec.
+   */
+  private static String formatEscape(String text) {
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c > 127) {
+        buffer.append(String.format("\\u%04X", (int)c));
+      }
+      else {
+        buffer.append(c);
+      }
+    }
+    return buffer.toString();
+  }
+
+  private static String formatUnescape(String text) {
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\\' && i + 5 < text.length() && text.charAt(i + 1) == 'u') {
+        buffer.append(Character.toChars(Integer.parseInt(text.substring(i + 2, i + 6), 16)));
+        i += 5;
+      }
+      else {
+        buffer.append(c);
+      }
+    }
+    return buffer.toString();
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class Native2AsciiCodecTest {
+
+  private static final String CYRILLIC = "Привет, мир";
+  private static final String SUPPLEMENTARY = "smile 😀";
+
+  @Test
+  public void encode() {
+    assertEquals("as-is", Native2AsciiCodec.encode("as-is"));
+    assertEquals("wei\\u00DF", Native2AsciiCodec.encode("weiß"));
+    assertEquals("smile \\uD83D\\uDE00", Native2AsciiCodec.encode(SUPPLEMENTARY));
+  }
+
+  @Test
+  public void decode() {
+    assertEquals("weiß", Native2AsciiCodec.decode("wei\\u00df"));
+    assertEquals(SUPPLEMENTARY, Native2AsciiCodec.decode("smile \\uD83D\\uDE00"));
+    assertEquals("escaped \\\\u0041", Native2AsciiCodec.decode("escaped \\\\u0041"));
+    assertEquals("not an escape \\u00G0", Native2AsciiCodec.decode("not an escape \\u00G0"));
+    assertEquals("trailing \\u00", Native2AsciiCodec.decode("trailing \\u00"));
+  }
+
+  @Test
+  public void streams() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      text.append(CYRILLIC).append(SUPPLEMENTARY).append(" \\ ").append(i);
+    }
+    String expected = Native2AsciiCodec.encode(text);
+
+    StringWriter encoded = new StringWriter();
+    Native2AsciiCodec.encode(new StringReader(text.toString()), encoded);
+    assertEquals(expected, encoded.toString());
+
+    // escapes cross the chunk boundaries of the reader
+    StringWriter decoded = new StringWriter();
+    Native2AsciiCodec.decode(new StringReader(expected), decoded);
+    assertEquals(text.toString(), decoded.toString());
+  }
+
+  @Test
+  public void appendEscape() {
+    StringBuilder buffer = new StringBuilder();
+    Native2AsciiCodec.appendEscape(buffer, 'ß');
+    assertEquals("\\u00DF", buffer.toString());
+  }
+
+  @Test
+  public void parseEscape() {
+    assertEquals(0xDF, Native2AsciiCodec.parseEscape("\\u00df", 1));
+    assertEquals(0xDF, Native2AsciiCodec.parseEscape("\\U00DF", 1));
+    assertEquals(-1, Native2AsciiCodec.parseEscape("\\u00G0", 1));
+    assertEquals(-1, Native2AsciiCodec.parseEscape("\\u00", 1));
+    assertEquals(-1, Native2AsciiCodec.parseEscape("\\x00DF", 1));
+  }
+
+  @Test
+  public void toPropertyValue() {
+    assertEquals("as-is", ResourceBundleUtil.fromValueEditorToPropertyValue("as-is"));
+    assertEquals("wei\\u00DF", ResourceBundleUtil.fromValueEditorToPropertyValue("weiß"));
+    assertEquals("smile \\uD83D\\uDE00", ResourceBundleUtil.fromValueEditorToPropertyValue(SUPPLEMENTARY));
+    assertEquals("\\u4F60\\u597D", ResourceBundleUtil.fromValueEditorToPropertyValue("你好"));
+  }
+
+  @Test
+  public void toValueEditor() {
+    assertEquals("weiß", ResourceBundleUtil.fromPropertyValueToValueEditor("wei\\u00df"));
+    assertEquals(SUPPLEMENTARY, ResourceBundleUtil.fromPropertyValueToValueEditor("smile \\uD83D\\uDE00"));
+    assertEquals("trailing u00", ResourceBundleUtil.fromPropertyValueToValueEditor("trailing \\u00"));
+  }
+
+  @Test
+  public void roundTrip() {
+    String text = CYRILLIC + " " + SUPPLEMENTARY;
+    assertEquals(text, ResourceBundleUtil.fromPropertyValueToValueEditor(ResourceBundleUtil.fromValueEditorToPropertyValue(text)));
+  }
+}
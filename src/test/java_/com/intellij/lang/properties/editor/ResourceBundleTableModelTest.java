@@ -0,0 +1,48 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.editor;
+
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+
+public abstract class ResourceBundleTableModelTest extends LightPlatformCodeInsightFixtureTestCase {
+  private static final String TEXT = "a=b:c ß";
+  private static final String ESCAPED = "a\\=b\\:c \\u00DF";
+
+  public void testEditExistingValue() throws Exception {
+    PropertiesFile file = (PropertiesFile)myFixture.configureByText("p.properties", "key=old\n");
+    ResourceBundleTableModel model = new ResourceBundleTableModel(getProject(), file.getResourceBundle());
+
+    int row = model.getKeyRow("key");
+    model.setValueAt(TEXT, row, 1);
+
+    assertEquals(ESCAPED, file.findPropertyByKey("key").getValue());
+    assertEquals(TEXT, model.getValueAt(row, 1));
+  }
+
+  public void testAddMissingValue() throws Exception {
+    PropertiesFile file = (PropertiesFile)myFixture.configureByText("p.properties", "key=old\n");
+    PropertiesFile localeFile = (PropertiesFile)myFixture.addFileToProject("p_de.properties", "other=x\n");
+    ResourceBundleTableModel model = new ResourceBundleTableModel(getProject(), file.getResourceBundle());
+
+    int row = model.getKeyRow("key");
+    assertNull(model.getValueAt(row, 2));
+    model.setValueAt(TEXT, row, 2);
+
+    assertEquals(ESCAPED, localeFile.findPropertyByKey("key").getValue());
+    assertEquals(TEXT, model.getValueAt(row, 2));
+  }
+}
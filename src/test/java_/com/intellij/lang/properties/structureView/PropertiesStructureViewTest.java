@@ -0,0 +1,42 @@
+/*
+ * Copyright 2013-2026 consulo.io
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.intellij.lang.properties.structureView;
+
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+
+import javax.swing.*;
+
+public abstract class PropertiesStructureViewTest extends LightPlatformCodeInsightFixtureTestCase {
+
+  public void testKeyThatIsAlsoAPrefix() throws Exception {
+    myFixture.configureByText("p.properties", "button=Button\nbutton.tooltip=Tooltip\nlabel=Label\n");
+    myFixture.testStructureView(component -> {
+      component.setActionActive(GroupByWordPrefixes.ID, true);
+      JTree tree = component.getTree();
+      PlatformTestUtil.expandAll(tree);
+
+      String text = PlatformTestUtil.print(tree, false);
+      for (String line : text.split("\n")) {
+        // expanding the button group must not blank the name of the button key next to it
+        assertFalse(text, line.replace("-", "").trim().isEmpty());
+      }
+      assertTrue(text, text.contains(" button\n"));
+      assertTrue(text, text.contains("  tooltip\n"));
+      assertTrue(text, text.contains(" label\n"));
+    });
+  }
+}